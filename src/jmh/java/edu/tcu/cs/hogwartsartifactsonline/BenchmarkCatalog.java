@@ -0,0 +1,93 @@
+package edu.tcu.cs.hogwartsartifactsonline;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it with a
+ * synthetic catalog, so that benchmarks run through the real Spring and JPA wiring.
+ */
+public final class BenchmarkCatalog {
+
+    private static final String[] WORDS = {
+            "ancient", "cursed", "golden", "silver", "enchanted", "broken", "hidden", "wand",
+            "cloak", "stone", "map", "sword", "cup", "locket", "diadem", "ring", "mirror",
+            "potion", "quill", "scroll", "phoenix", "dragon", "goblin", "elder", "marauder",
+            "invisible", "resurrection", "time", "turner", "remembrall", "sneakoscope", "pensieve"
+    };
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private BenchmarkCatalog() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=sa",
+                "--server.port=0",
+                "--ai.openai.endpoint=http://localhost:9/v1/chat/completions",
+                "--ai.openai.api-key=benchmark",
+                "--logging.level.root=WARN"));
+        args.addAll(Arrays.asList(extraArgs));
+        return new SpringApplicationBuilder(HogwartsArtifactsOnlineApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+
+    public static void seed(ApplicationContext context, int artifactCount, int wizardCount) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> wizards = new ArrayList<>(wizardCount);
+        for (int i = 1; i <= wizardCount; i++) {
+            wizards.add(new Object[]{i, wizardName(i)});
+        }
+        jdbcTemplate.batchUpdate("insert into wizard (id, name, version) values (?, ?, 0)", wizards);
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < artifactCount; i++) {
+            batch.add(new Object[]{
+                    String.valueOf(1_000_000_000L + i),
+                    words(random, 2) + " " + i,
+                    words(random, 12),
+                    "imageUrl",
+                    i % wizardCount + 1});
+            if (batch.size() == BATCH_SIZE) {
+                insertArtifacts(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertArtifacts(jdbcTemplate, batch);
+        }
+    }
+
+    public static String wizardName(int i) {
+        return "Wizard " + i;
+    }
+
+    private static void insertArtifacts(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into artifact (id, name, description, image_url, owner_id, version) values (?, ?, ?, ?, ?, 0)", batch);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.BenchmarkCatalog;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactBatchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads {@code itemCount} artifacts through {@link ArtifactBatchImporter} from an NDJSON body,
+ * and through one {@link ArtifactService#save} call per artifact as the per-item endpoint does.
+ * Each invocation starts from an empty catalog.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactBatchImportBenchmark {
+
+    @Param({"10000", "100000"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+
+    private ArtifactBatchImporter artifactBatchImporter;
+
+    private ArtifactService artifactService;
+
+    private ArtifactRepository artifactRepository;
+
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start();
+        this.artifactBatchImporter = this.context.getBean(ArtifactBatchImporter.class);
+        this.artifactService = this.context.getBean(ArtifactService.class);
+        this.artifactRepository = this.context.getBean(ArtifactRepository.class);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < this.itemCount; i++) {
+            sb.append("{\"name\":\"Artifact ").append(i)
+                    .append("\",\"description\":\"A benchmark artifact\",\"imageUrl\":\"imageUrl\"}\n");
+        }
+        this.ndjson = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyCatalog() {
+        this.artifactRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public ArtifactBatchResult batchImport() throws IOException {
+        return this.artifactBatchImporter.importArtifacts(new ByteArrayInputStream(this.ndjson));
+    }
+
+    @Benchmark
+    public int perItemSave() {
+        for (int i = 0; i < this.itemCount; i++) {
+            Artifact artifact = new Artifact();
+            artifact.setName("Artifact " + i);
+            artifact.setDescription("A benchmark artifact");
+            artifact.setImageUrl("imageUrl");
+            this.artifactService.save(artifact);
+        }
+        return this.itemCount;
+    }
+}
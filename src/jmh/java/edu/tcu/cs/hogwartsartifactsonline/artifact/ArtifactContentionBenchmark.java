@@ -0,0 +1,112 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.BenchmarkCatalog;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactPatch;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of concurrent writers updating the same few artifacts: a client-style optimistic
+ * write, reading the version and sending it as If-Match to a patch flushed as a versioned UPDATE,
+ * retrying on 412, versus a read-modify-write holding a {@code SELECT ... FOR UPDATE} row lock.
+ * {@code hotRows} sets how many artifacts the writers share; the optimistic runs also report their
+ * retries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ArtifactContentionBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int hotRows;
+
+    private ConfigurableApplicationContext context;
+
+    private ArtifactService artifactService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private EntityManager entityManager;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start();
+        BenchmarkCatalog.seed(this.context, 1_000, 100);
+        this.artifactService = this.context.getBean(ArtifactService.class);
+        this.transactionTemplate = this.context.getBean(TransactionTemplate.class);
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(this.context.getBean(EntityManagerFactory.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public void optimisticIfMatch(Retries retries) {
+        String id = hotId();
+        String description = "Description " + ThreadLocalRandom.current().nextInt();
+        while (true) {
+            Integer version = this.artifactService.findById(id).getVersion();
+            try {
+                this.artifactService.patch(id, new ArtifactPatch(null, description, null), version);
+                return;
+            } catch (PreconditionFailedException stale) {
+                retries.retries++;
+            }
+        }
+    }
+
+    @Benchmark
+    public void pessimisticLock() {
+        String id = hotId();
+        String description = "Description " + ThreadLocalRandom.current().nextInt();
+        this.transactionTemplate.executeWithoutResult(status -> {
+            Artifact artifact = this.entityManager.find(Artifact.class, id, LockModeType.PESSIMISTIC_WRITE);
+            artifact.setDescription(description);
+        });
+    }
+
+    private String hotId() {
+        return String.valueOf(1_000_000_000L + ThreadLocalRandom.current().nextInt(this.hotRows));
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retries {
+
+        public long retries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.retries = 0;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.BenchmarkCatalog;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.search.ArtifactTextIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link ArtifactService#findByCriteria} against an embedded H2 catalog, with the
+ * trigram index narrowing the LIKE scan and without it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int catalogSize;
+
+    // selectiveName matches a handful of rows; the index only helps when the candidates stay under
+    // api.search.ngram-index.max-candidates, otherwise both variants run the same LIKE scan.
+    @Param({"name", "selectiveName", "description", "ownerName"})
+    private String criterion;
+
+    @Param({"true", "false"})
+    private boolean ngramIndex;
+
+    private ConfigurableApplicationContext context;
+
+    private ArtifactService artifactService;
+
+    private Map<String, String> searchCriteria;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start("--api.search.ngram-index.enabled=" + this.ngramIndex);
+        BenchmarkCatalog.seed(this.context, this.catalogSize, 100);
+        // Seeding bypasses JPA, so the index has to be rebuilt from the seeded rows.
+        this.context.getBean(ArtifactTextIndex.class).rebuild();
+        this.artifactService = this.context.getBean(ArtifactService.class);
+        this.searchCriteria = switch (this.criterion) {
+            case "name" -> Map.of("name", "wand");
+            case "selectiveName" -> Map.of("name", "wand 7777");
+            case "description" -> Map.of("description", "phoenix");
+            default -> Map.of("ownerName", BenchmarkCatalog.wizardName(7));
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Page<ArtifactDto> findByCriteria() {
+        return this.artifactService.findByCriteria(this.searchCriteria, this.pageable);
+    }
+}
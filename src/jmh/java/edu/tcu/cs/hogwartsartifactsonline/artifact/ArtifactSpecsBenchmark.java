@@ -0,0 +1,77 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.BenchmarkCatalog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of turning the {@link ArtifactSpecs} used by the search endpoint into a
+ * JPA predicate and a ready-to-execute query, without touching the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactSpecsBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start();
+        this.entityManager = this.context.getBean(EntityManagerFactory.class).createEntityManager();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.entityManager.close();
+        this.context.close();
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Artifact> query = criteriaBuilder.createQuery(Artifact.class);
+        Root<Artifact> root = query.from(Artifact.class);
+        return searchSpec().toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public TypedQuery<Artifact> buildQuery() {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Artifact> query = criteriaBuilder.createQuery(Artifact.class);
+        Root<Artifact> root = query.from(Artifact.class);
+        query.where(searchSpec().toPredicate(root, query, criteriaBuilder));
+        return this.entityManager.createQuery(query);
+    }
+
+    private static Specification<Artifact> searchSpec() {
+        return Specification.where(ArtifactSpecs.containsName("wand"))
+                .and(ArtifactSpecs.containsDescription("cloak"))
+                .and(ArtifactSpecs.hasOwnerName(BenchmarkCatalog.wizardName(7)));
+    }
+}
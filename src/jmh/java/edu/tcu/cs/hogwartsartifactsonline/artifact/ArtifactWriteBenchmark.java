@@ -0,0 +1,101 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.BenchmarkCatalog;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactPatch;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write latency of a single artifact against an embedded H2 catalog through ArtifactService:
+ * a full update, a merge patch and a delete, each of which loads the artifact, checks its version
+ * and flushes a versioned statement for that one row. With {@code warmCache} the load is served
+ * from the second-level cache; without it the entry is evicted first, so every write reads the
+ * row. Deleted rows are put back with plain JDBC inside the delete benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactWriteBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"true", "false"})
+    public boolean warmCache;
+
+    private ConfigurableApplicationContext context;
+
+    private ArtifactService artifactService;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        this.context = BenchmarkCatalog.start();
+        BenchmarkCatalog.seed(this.context, CATALOG_SIZE, 100);
+        this.artifactService = this.context.getBean(ArtifactService.class);
+        this.entityManagerFactory = this.context.getBean(EntityManagerFactory.class);
+        this.jdbcTemplate = this.context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Artifact update() {
+        Artifact update = new Artifact();
+        update.setName("Artifact");
+        update.setDescription("Description " + this.next);
+        update.setImageUrl("imageUrl");
+        return this.artifactService.update(nextId(), update);
+    }
+
+    @Benchmark
+    public Artifact patch() {
+        return this.artifactService.patch(nextId(), new ArtifactPatch(null, "Description " + this.next, null));
+    }
+
+    @Benchmark
+    public void delete() {
+        String id = nextId();
+        this.artifactService.delete(id);
+        restore(id);
+    }
+
+    private String nextId() {
+        this.next = (this.next + 1) % CATALOG_SIZE;
+        String id = String.valueOf(1_000_000_000L + this.next);
+        if (!this.warmCache) {
+            this.entityManagerFactory.getCache().evict(Artifact.class, id);
+        }
+        return id;
+    }
+
+    private void restore(String id) {
+        this.jdbcTemplate.update("insert into artifact (id, name, description, image_url, owner_id, version) values (?, ?, ?, ?, ?, 0)",
+                id, "Artifact", "Restored", "imageUrl", 1);
+    }
+}
@@ -0,0 +1,136 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.BenchmarkCatalog;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the running server: CRUD reads mixed with summary requests whose chat model
+ * answers only after {@code modelLatencyMillis}.
+ * <p>
+ * Sample mode reports throughput and latency percentiles, p99 included, for each kind of request.
+ * Tomcat is capped at {@code server.tomcat.threads.max=50}; with platform threads the slow summary
+ * calls hold every worker and the reads queue behind them. Virtual threads need Java 21, so run
+ * with {@code -P benchmark,java21}; on older runtimes both variants use platform threads.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@State(Scope.Group)
+public class SummaryLoadBenchmark {
+
+    @Param({"true", "false"})
+    private boolean virtualThreads;
+
+    @Param({"2000"})
+    private int modelLatencyMillis;
+
+    private HttpServer chatModel;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.chatModel = slowChatModel(this.modelLatencyMillis);
+        this.context = BenchmarkCatalog.start(
+                "--spring.threads.virtual.enabled=" + this.virtualThreads,
+                "--server.tomcat.threads.max=50",
+                "--ai.openai.endpoint=http://localhost:" + this.chatModel.getAddress().getPort() + "/v1/chat/completions",
+                "--ai.chat.cache.enabled=false",
+                // One chat call per summary, so the model latency is the whole story.
+                "--ai.summary.chunk-size=1000",
+                "--ai.summary.concurrency=256");
+        BenchmarkCatalog.seed(this.context, 500, 10);
+        this.baseUrl = "http://localhost:" + this.context.getEnvironment().getProperty("local.server.port") + "/api/v1/artifacts";
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newCachedThreadPool())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+        this.chatModel.stop(0);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(64)
+    public int summary() throws IOException, InterruptedException {
+        return get("/summary");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(16)
+    public int findById() throws IOException, InterruptedException {
+        return get("/" + (1_000_000_000L + ThreadLocalRandom.current().nextInt(500)));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(16)
+    public int findPage() throws IOException, InterruptedException {
+        return get("?page=" + ThreadLocalRandom.current().nextInt(25) + "&size=20");
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(this.baseUrl + path)).GET().build();
+        return this.httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static HttpServer slowChatModel(int latencyMillis) throws IOException {
+        byte[] body = """
+                {"choices":[{"index":0,"message":{"role":"assistant","content":"A summary of the catalog."}}]}
+                """.getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/chat/completions", exchange -> {
+            try (exchange; OutputStream out = exchange.getResponseBody()) {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(latencyMillis);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                out.write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,67 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.converter;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.Artifact;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.converter.WizardToWizardDtoConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactConverterBenchmark {
+
+    private ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter;
+
+    private Artifact ownedArtifact;
+
+    private Artifact unownedArtifact;
+
+    @Setup
+    public void setUp() {
+        this.artifactToArtifactDtoConverter = new ArtifactToArtifactDtoConverter(new WizardToWizardDtoConverter());
+
+        var owner = new Wizard();
+        owner.setId(1);
+        owner.setName("Albus Dumbledore");
+        for (int i = 0; i < 10; i++) {
+            owner.addArtifact(generateArtifact("12345" + i));
+        }
+
+        this.ownedArtifact = owner.getArtifacts().get(0);
+        this.unownedArtifact = generateArtifact("123460");
+    }
+
+    @Benchmark
+    public ArtifactDto convertOwnedArtifact() {
+        return this.artifactToArtifactDtoConverter.convert(this.ownedArtifact);
+    }
+
+    @Benchmark
+    public ArtifactDto convertUnownedArtifact() {
+        return this.artifactToArtifactDtoConverter.convert(this.unownedArtifact);
+    }
+
+    private static Artifact generateArtifact(String id) {
+        var a = new Artifact();
+        a.setId(id);
+        a.setName("Deluminator");
+        a.setDescription("A deluminator is a device invented by Albus Dumbledore.");
+        a.setImageUrl("imageUrl");
+        return a;
+    }
+}
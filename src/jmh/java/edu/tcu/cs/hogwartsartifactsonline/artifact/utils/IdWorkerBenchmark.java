@@ -0,0 +1,65 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded and contended id generation. The {@code synchronized} variant serializes
+ * callers on one monitor, as the previous implementation did, for comparison. All variants
+ * share the 4096 ids per millisecond ceiling of the id layout, so {@code nextIdsBlock}
+ * reports blocks of 64 ids per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdWorkerBenchmark {
+
+    private IdWorker idWorker;
+
+    private final Object lock = new Object();
+
+    @Setup
+    public void setUp() {
+        this.idWorker = new IdWorker(1, 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long nextId() {
+        return this.idWorker.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long nextIdContended() {
+        return this.idWorker.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long synchronizedNextIdContended() {
+        synchronized (this.lock) {
+            return this.idWorker.nextId();
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long[] nextIdsBlockContended() {
+        return this.idWorker.nextIds(64);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify throughput of each supported token algorithm, using the same encoder and
+ * decoder as {@link SecurityConfiguration} with the same claims {@code JWTProvider} puts in a
+ * token. The token size of each algorithm is printed during setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwsAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwsJwtEncoder jwtEncoder;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtEncoderParameters parameters;
+
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JWK signingKey = JwsKeys.generate(JWSAlgorithm.parse(this.algorithm));
+        this.jwtEncoder = new JwsJwtEncoder(signingKey);
+        this.jwtDecoder = JwsKeys.decoderFor(new JWKSet(signingKey).toPublicJWKSet());
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(2, ChronoUnit.HOURS))
+                .subject("admin")
+                .claim("authorities", "ROLE_admin ROLE_user")
+                .build();
+        this.parameters = JwtEncoderParameters.from(claims);
+        this.token = sign();
+        System.out.printf("%n%s token size: %d bytes%n", this.algorithm, this.token.length());
+    }
+
+    @Benchmark
+    public String sign() {
+        return this.jwtEncoder.encode(this.parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return this.jwtDecoder.decode(this.token);
+    }
+}
@@ -0,0 +1,105 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning a bearer token into an {@code Authentication}, i.e. what
+ * {@code JwtAuthenticationProvider} does, with {@link CachingJwtDecoder} and without it.
+ * Every invocation presents one of {@code distinctTokens} tokens, as a set of active clients would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtDecoderBenchmark {
+
+    @Param({"1", "1000"})
+    private int distinctTokens;
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private String[] tokens;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic()).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+
+        Instant now = Instant.now();
+        this.tokens = new String[this.distinctTokens];
+        for (int i = 0; i < this.distinctTokens; i++) {
+            JwtClaimsSet claims = JwtClaimsSet.builder()
+                    .issuer("self")
+                    .issuedAt(now)
+                    .expiresAt(now.plus(2, ChronoUnit.HOURS))
+                    .subject("user" + i)
+                    .claim("authorities", "ROLE_user ROLE_admin")
+                    .build();
+            this.tokens[i] = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        }
+
+        // Same claim mapping as SecurityConfiguration.
+        JwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        jwtGrantedAuthoritiesConverter.setAuthoritiesClaimName("authorities");
+        jwtGrantedAuthoritiesConverter.setAuthorityPrefix("");
+        this.jwtAuthenticationConverter = new JwtAuthenticationConverter();
+        if (this.cache) {
+            this.jwtDecoder = new CachingJwtDecoder(nimbusJwtDecoder, Duration.ofHours(2), 10_000);
+            this.jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(
+                    new CachingGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter, 10_000));
+        } else {
+            this.jwtDecoder = nimbusJwtDecoder;
+            this.jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter);
+        }
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken authenticate() {
+        String token = this.tokens[this.next];
+        this.next = (this.next + 1) % this.tokens.length;
+        return this.jwtAuthenticationConverter.convert(this.jwtDecoder.decode(token));
+    }
+}
@@ -0,0 +1,67 @@
+package edu.tcu.cs.hogwartsartifactsonline.system;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a {@link Result} wrapping a page of artifacts, which is what every paged
+ * artifact endpoint hands to Jackson.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSerializationBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Result result;
+
+    @Setup
+    public void setUp() {
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        var owner = new WizardDto(1, "Albus Dumbledore", 2);
+        List<ArtifactDto> content = new ArrayList<>(this.pageSize);
+        for (int i = 0; i < this.pageSize; i++) {
+            content.add(new ArtifactDto(String.valueOf(1250808601744904191L + i),
+                    "Deluminator",
+                    "A deluminator is a device invented by Albus Dumbledore.",
+                    "imageUrl",
+                    owner));
+        }
+
+        var page = new PageImpl<>(content, PageRequest.of(0, this.pageSize), 1000);
+        this.result = new Result(true, StatusCode.SUCCESS, "Find all success", page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.result);
+    }
+}
@@ -1,10 +1,14 @@
 package edu.tcu.cs.hogwartsartifactsonline;
 
 import edu.tcu.cs.hogwartsartifactsonline.artifact.utils.IdWorker;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
+import java.util.concurrent.TimeUnit;
+
 @SpringBootApplication
 public class HogwartsArtifactsOnlineApplication {
 
@@ -16,4 +20,13 @@ public class HogwartsArtifactsOnlineApplication {
         return new IdWorker(1, 1);
     }
 
+    // How often and how long nextId waited for the clock to reach the next millisecond.
+    @Bean
+    public MeterBinder idWorkerMetrics(IdWorker idWorker) {
+        return registry -> FunctionTimer.builder("id.worker.wait", idWorker,
+                        IdWorker::getWaitCount, IdWorker::getWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for the next millisecond once its sequence ran out")
+                .register(registry);
+    }
+
 }
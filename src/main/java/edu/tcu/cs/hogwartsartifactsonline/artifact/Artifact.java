@@ -1,11 +1,23 @@
 package edu.tcu.cs.hogwartsartifactsonline.artifact;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.search.ArtifactTextIndexListener;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeListener;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.io.Serializable;
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate // A patch only writes the columns it changed.
+@EntityListeners({TableChangeListener.class, ArtifactTextIndexListener.class}) // The text index reads the bumped count.
 public class Artifact implements Serializable{
     @Id
     private String id;
@@ -19,6 +31,9 @@ public class Artifact implements Serializable{
     @ManyToOne
     private Wizard owner;
 
+    @Version
+    private Integer version;
+
     public Artifact(){
 
     }
@@ -61,4 +76,12 @@ public class Artifact implements Serializable{
     public void setOwner(Wizard owner) {
         this.owner = owner;
     }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,183 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.converter.ArtifactDtoToArtifactConverter;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactBatchItem;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactBatchResult;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.utils.IdWorker;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports artifacts from a JSON array or NDJSON body without materializing it.
+ * <p>
+ * Items are read one at a time with the Jackson streaming parser and persisted in chunks of
+ * {@code api.artifacts.batch.chunk-size}. Each chunk gets its ids from one
+ * {@link IdWorker#nextIds(int)} call and runs in its own transaction, so the inserts go out as
+ * JDBC batches and a database error only fails the items of its chunk. The persistence context
+ * is flushed and cleared after every chunk to keep memory flat.
+ */
+@Component
+public class ArtifactBatchImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ArtifactBatchImporter.class);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final IdWorker idWorker;
+
+    private final ObjectMapper objectMapper;
+
+    private final ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter;
+
+    private final int chunkSize;
+
+    public ArtifactBatchImporter(EntityManager entityManager, TransactionTemplate transactionTemplate, IdWorker idWorker,
+                                 ObjectMapper objectMapper, ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter,
+                                 @Value("${api.artifacts.batch.chunk-size:500}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.idWorker = idWorker;
+        this.objectMapper = objectMapper;
+        this.artifactDtoToArtifactConverter = artifactDtoToArtifactConverter;
+        this.chunkSize = chunkSize;
+    }
+
+    public ArtifactBatchResult importArtifacts(InputStream body) throws IOException {
+        List<ArtifactBatchItem> results = new ArrayList<>();
+        List<Artifact> chunk = new ArrayList<>(this.chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(this.chunkSize);
+
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            // A JSON array is read element by element; anything else as a sequence of root-level
+            // objects, which is what NDJSON is to the parser.
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            int index = 0;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node;
+                try {
+                    node = parser.readValueAsTree();
+                } catch (JsonProcessingException ex) {
+                    // The parser cannot resynchronize after a syntax error, so the rest of the body is dropped.
+                    results.add(new ArtifactBatchItem(index, null, "Malformed JSON: " + ex.getOriginalMessage()));
+                    break;
+                }
+
+                String error = validate(node);
+                if (error == null) {
+                    try {
+                        chunk.add(this.artifactDtoToArtifactConverter.convert(this.objectMapper.treeToValue(node, ArtifactDto.class)));
+                        chunkIndexes.add(index);
+                    } catch (JsonProcessingException ex) {
+                        error = "Invalid artifact: " + ex.getOriginalMessage();
+                    }
+                }
+                if (error != null) {
+                    results.add(new ArtifactBatchItem(index, null, error));
+                }
+                index++;
+
+                if (chunk.size() == this.chunkSize) {
+                    results.addAll(persist(chunk, chunkIndexes));
+                    chunk.clear();
+                    chunkIndexes.clear();
+                }
+                token = parser.nextToken();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(persist(chunk, chunkIndexes));
+        }
+
+        results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        int succeeded = (int) results.stream().filter(ArtifactBatchItem::success).count();
+        return new ArtifactBatchResult(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    private List<ArtifactBatchItem> persist(List<Artifact> chunk, List<Integer> chunkIndexes) {
+        long[] ids = this.idWorker.nextIds(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).setId(String.valueOf(ids[i]));
+        }
+
+        List<ArtifactBatchItem> results = new ArrayList<>(chunk.size());
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                // New rows would only push hot entries out of the second-level cache.
+                this.entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                // persist, not save: ids are assigned, and merge would select each row first.
+                chunk.forEach(this.entityManager::persist);
+                this.entityManager.flush();
+                this.entityManager.clear();
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(new ArtifactBatchItem(chunkIndexes.get(i), chunk.get(i).getId(), null));
+            }
+        } catch (RuntimeException ex) {
+            this.entityManager.clear();
+            // The exception text names tables, columns and SQL, so it only goes to the log.
+            log.warn("Could not save a chunk of {} artifacts", chunk.size(), ex);
+            String error = isConstraintViolation(ex)
+                    ? "Could not save the chunk containing this item: an item in it conflicts with existing data"
+                    : "Could not save the chunk containing this item";
+            for (Integer index : chunkIndexes) {
+                results.add(new ArtifactBatchItem(index, null, error));
+            }
+        }
+        return results;
+    }
+
+    // Flushing through the EntityManager throws Hibernate's exception, not Spring's translated one.
+    private static boolean isConstraintViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException || cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Same rules as the @NotEmpty constraints on ArtifactDto.
+    private static String validate(JsonNode node) {
+        if (!node.isObject()) {
+            return "Item must be a JSON object";
+        }
+        if (!StringUtils.hasText(node.path("name").asText(null))) {
+            return "Name is required";
+        }
+        if (!StringUtils.hasText(node.path("description").asText(null))) {
+            return "Description is required";
+        }
+        if (!StringUtils.hasText(node.path("imageUrl").asText(null))) {
+            return "ImageUrl is required";
+        }
+        return null;
+    }
+}
@@ -1,22 +1,43 @@
 package edu.tcu.cs.hogwartsartifactsonline.artifact;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.sun.net.httpserver.Authenticator;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.converter.ArtifactDtoToArtifactConverter;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.converter.ArtifactToArtifactDtoConverter;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactBatchResult;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactPatch;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.VersionedArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.system.ETags;
 import edu.tcu.cs.hogwartsartifactsonline.system.Result;
 import edu.tcu.cs.hogwartsartifactsonline.system.StatusCode;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeCounter;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
 import jdk.jshell.Snippet;
-import org.springframework.data.domain.Page;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("${api.endpoint.base-url}/artifacts")
@@ -26,24 +47,56 @@ public class ArtifactController {
 
     private final ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter;
 
-    public ArtifactController(ArtifactService artifactService, ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter, ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter) {
+    private final ArtifactSummarizer artifactSummarizer;
+
+    private final ArtifactBatchImporter artifactBatchImporter;
+
+    private final ArtifactExporter artifactExporter;
+
+    private final TableChangeCounter tableChangeCounter;
+
+    @Value("${ai.summary.timeout:120s}")
+    private Duration summaryTimeout = Duration.ofSeconds(120);
+
+    public ArtifactController(ArtifactService artifactService, ArtifactToArtifactDtoConverter artifactToArtifactDtoConverter, ArtifactDtoToArtifactConverter artifactDtoToArtifactConverter, ArtifactSummarizer artifactSummarizer, ArtifactBatchImporter artifactBatchImporter, ArtifactExporter artifactExporter, TableChangeCounter tableChangeCounter) {
         this.artifactService = artifactService;
         this.artifactToArtifactDtoConverter = artifactToArtifactDtoConverter;
         this.artifactDtoToArtifactConverter = artifactDtoToArtifactConverter;
+        this.artifactSummarizer = artifactSummarizer;
+        this.artifactBatchImporter = artifactBatchImporter;
+        this.artifactExporter = artifactExporter;
+        this.tableChangeCounter = tableChangeCounter;
     }
 
+    // A matching If-None-Match is answered with 304 before the artifact is converted or serialized.
+    // The artifact and its owner are read from the entity cache; one count query completes both the body and the ETag.
     @GetMapping("/{artifactId}")
-    public Result findArtifactById(@PathVariable String artifactId){
-        Artifact foundArtifact = this.artifactService.findById(artifactId);
-        ArtifactDto artifactDto = this.artifactToArtifactDtoConverter.convert(foundArtifact);
-        return new Result(true, StatusCode.SUCCESS, "Find one success", artifactDto);
+    public Result findArtifactById(@PathVariable String artifactId, WebRequest webRequest, HttpServletResponse response){
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        VersionedArtifactDto foundArtifact = this.artifactService.findVersionedDtoById(artifactId);
+        if (webRequest.checkNotModified(ETags.of(foundArtifact))) {
+            return null;
+        }
+        return new Result(true, StatusCode.SUCCESS, "Find one success", foundArtifact.artifact());
     }
+    // The ETag covers every page: it changes with any artifact or wizard write, and a 304 only reads the change counts.
+    // no-cache lets clients and proxies keep a page as long as they revalidate it with If-None-Match.
     @GetMapping
-    public Result findAllArtifacts(Pageable pageable){
-        Page<Artifact> artifactPage = this.artifactService.findAll(pageable);
-        //Convert foundArtifacts to a list of artifactDtos
-        Page<ArtifactDto> artifactDtoPage = artifactPage
-                .map(this.artifactToArtifactDtoConverter::convert);
+    public Result findAllArtifacts(Pageable pageable,
+                                   @RequestParam(defaultValue = "page") String paging,
+                                   @RequestParam(required = false) String cursor, WebRequest webRequest,
+                                   HttpServletResponse response){
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (webRequest.checkNotModified(this.tableChangeCounter.eTag(Artifact.class, Wizard.class))) {
+            return null;
+        }
+        // Rows are projected straight into ArtifactDtos, no entity conversion needed.
+        Object artifactDtoPage = switch (paging) {
+            case "cursor" -> this.artifactService.findByCursor(Map.of(), cursor, pageable);
+            case "slice" -> this.artifactService.findSliceByCriteria(Map.of(), pageable);
+            case "cached" -> this.artifactService.findByCriteriaWithCachedCount(Map.of(), pageable);
+            default -> this.artifactService.findAll(pageable);
+        };
         return new Result(true, StatusCode.SUCCESS, "Find all success", artifactDtoPage);
     }
 
@@ -55,32 +108,98 @@ public class ArtifactController {
        ArtifactDto savedArtifactDto = this.artifactToArtifactDtoConverter.convert(savedArtifact);
        return new Result(true, StatusCode.SUCCESS, "Add success", savedArtifactDto);
     }
+    // Accepts a JSON array or NDJSON; the body is parsed as it is read.
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Result addArtifacts(InputStream body) throws IOException {
+        ArtifactBatchResult batchResult = this.artifactBatchImporter.importArtifacts(body);
+        return new Result(true, StatusCode.SUCCESS, "Batch add success", batchResult);
+    }
+
+    // Streams the catalog as it is read, optionally gzipped on the fly.
+    @GetMapping("/export")
+    public void exportArtifacts(@RequestParam(defaultValue = "ndjson") String format,
+                                @RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        ArtifactExporter.Format exportFormat = ArtifactExporter.Format.of(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("artifacts." + exportFormat.getExtension()).build().toString());
+        if (!gzip) {
+            this.artifactExporter.export(exportFormat, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        try (GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 8192)) {
+            this.artifactExporter.export(exportFormat, out);
+        }
+    }
+
+    // If-Match, when sent, must name the artifact's current ETag; a stale one gets 412 and nothing is written.
     @PutMapping("/{artifactId}")
-    public Result updateArtifact(@PathVariable String artifactId, @Validated @RequestBody ArtifactDto artifactDto){
+    public Result updateArtifact(@PathVariable String artifactId, @Validated @RequestBody ArtifactDto artifactDto,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                 HttpServletResponse response){
         Artifact update = this.artifactDtoToArtifactConverter.convert(artifactDto);
-        Artifact updatedArtifact = this.artifactService.update(artifactId, Objects.requireNonNull(update));
+        Artifact updatedArtifact = this.artifactService.update(artifactId, Objects.requireNonNull(update),
+                ETags.artifactVersion(artifactId, ifMatch));
+        response.setHeader(HttpHeaders.ETAG, ETags.of(updatedArtifact));
         ArtifactDto updatedArtifactDto = this.artifactToArtifactDtoConverter.convert(updatedArtifact);
         return new Result(true, StatusCode.SUCCESS, "Update success", updatedArtifactDto);
     }
+
+    // JSON Merge Patch: only the supplied fields are written; the response carries the patched artifact and its new ETag.
+    @PatchMapping(value = "/{artifactId}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public Result patchArtifact(@PathVariable String artifactId, @RequestBody JsonNode mergePatch,
+                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                HttpServletResponse response){
+        Artifact patchedArtifact = this.artifactService.patch(artifactId, ArtifactPatch.from(mergePatch),
+                ETags.artifactVersion(artifactId, ifMatch));
+        response.setHeader(HttpHeaders.ETAG, ETags.of(patchedArtifact));
+        ArtifactDto patchedArtifactDto = this.artifactToArtifactDtoConverter.convert(patchedArtifact);
+        return new Result(true, StatusCode.SUCCESS, "Patch success", patchedArtifactDto);
+    }
+
     @DeleteMapping("/{artifactId}")
-    public Result deleteArtifact(@PathVariable String artifactId){
-        this.artifactService.delete(artifactId);
+    public Result deleteArtifact(@PathVariable String artifactId,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        this.artifactService.delete(artifactId, ETags.artifactVersion(artifactId, ifMatch));
         return new Result(true, StatusCode.SUCCESS, "Delete success");
     }
 
+    /**
+     * Releases the request thread while the catalog is summarized; the response is written when
+     * the summary completes, or with 503 once {@code ai.summary.timeout} has passed.
+     */
     @GetMapping("/summary")
-    public Result summarizeArtifacts() throws JsonProcessingException{
-        var foundArtifacts = this.artifactService.findAll();
-        var artifactsDtos = foundArtifacts.stream().map(artifactToArtifactDtoConverter::convert).toList();
-
-        String artifactsSummary = this.artifactService.summarize(artifactsDtos);
-        return new Result(true, StatusCode.SUCCESS, "Summarize success", artifactsSummary);
+    public DeferredResult<Result> summarizeArtifacts() {
+        DeferredResult<Result> result = new DeferredResult<>(this.summaryTimeout.toMillis());
+        CompletableFuture<String> summary = this.artifactSummarizer.summarizeCatalogAsync();
+        result.onTimeout(() -> {
+            summary.cancel(false);
+            result.setErrorResult(new AsyncRequestTimeoutException());
+        });
+        summary.whenComplete((artifactsSummary, ex) -> {
+            if (ex == null) {
+                result.setResult(new Result(true, StatusCode.SUCCESS, "Summarize success", artifactsSummary));
+            } else {
+                result.setErrorResult(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            }
+        });
+        return result;
     }
 
     @PostMapping("/search")
-    public Result findArtifactsByCriteria(@RequestBody Map<String, String> searchCriteria, Pageable pageable) {
-        Page<Artifact> artifactPage = this.artifactService.findByCriteria(searchCriteria, pageable);
-        Page<ArtifactDto> artifactDtoPage = artifactPage.map(this.artifactToArtifactDtoConverter::convert);
+    public Result findArtifactsByCriteria(@RequestBody Map<String, String> searchCriteria, Pageable pageable,
+                                          @RequestParam(defaultValue = "page") String paging,
+                                          @RequestParam(required = false) String cursor) {
+        // "slice" skips the count query, "cached" reuses the count of an earlier search with the same criteria.
+        Object artifactDtoPage = switch (paging) {
+            case "cursor" -> this.artifactService.findByCursor(searchCriteria, cursor, pageable);
+            case "slice" -> this.artifactService.findSliceByCriteria(searchCriteria, pageable);
+            case "cached" -> this.artifactService.findByCriteriaWithCachedCount(searchCriteria, pageable);
+            default -> this.artifactService.findByCriteria(searchCriteria, pageable);
+        };
         return new Result(true, StatusCode.SUCCESS, "Search Success", artifactDtoPage);
     }
 }
@@ -0,0 +1,49 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position of the last artifact on a cursor page: the sort key and the id used as tie-breaker.
+ * It travels to the client as an opaque URL-safe token. A null sort key, such as an artifact
+ * without a name, is kept null and the token then has no value line.
+ */
+public record ArtifactCursor(String sortProperty, Sort.Direction direction, String value, String id) {
+
+    static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name");
+
+    public static ArtifactCursor after(ArtifactDto artifact, Sort.Order order) {
+        String value = "name".equals(order.getProperty()) ? artifact.name() : artifact.id();
+        return new ArtifactCursor(order.getProperty(), order.getDirection(), value, artifact.id());
+    }
+
+    public Sort.Order order() {
+        return new Sort.Order(this.direction, this.sortProperty);
+    }
+
+    public String encode() {
+        String raw = String.join("\n", this.sortProperty, this.direction.name(), this.id);
+        if (this.value != null) {
+            raw += "\n" + this.value;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ArtifactCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 4);
+            if (parts.length < 3 || !SORTABLE_PROPERTIES.contains(parts[0]) || parts.length == 3 && "id".equals(parts[0])) {
+                throw new InvalidCursorException("Cursor %s is invalid.".formatted(token));
+            }
+            return new ArtifactCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts.length == 4 ? parts[3] : null, parts[2]);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor %s is invalid.".formatted(token));
+        }
+    }
+}
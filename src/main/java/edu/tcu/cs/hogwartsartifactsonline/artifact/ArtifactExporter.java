@@ -0,0 +1,129 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactExportRow;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.UnsupportedExportFormatException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog as NDJSON or CSV while it is being read from the database.
+ * <p>
+ * Rows come from a forward-only cursor as plain projections, so nothing is kept in the
+ * persistence context and heap use does not grow with the size of the catalog.
+ */
+@Component
+public class ArtifactExporter {
+
+    public enum Format {
+
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return this.contentType;
+        }
+
+        public String getExtension() {
+            return this.extension;
+        }
+
+        public static Format of(String format) {
+            for (Format candidate : values()) {
+                if (candidate.extension.equals(format.toLowerCase(Locale.ROOT))) {
+                    return candidate;
+                }
+            }
+            throw new UnsupportedExportFormatException(format);
+        }
+    }
+
+    private static final String CSV_HEADER = "id,name,description,imageUrl,ownerId,ownerName";
+
+    private final ArtifactRepository artifactRepository;
+
+    private final ObjectWriter rowWriter;
+
+    public ArtifactExporter(ArtifactRepository artifactRepository, ObjectMapper objectMapper) {
+        this.artifactRepository = artifactRepository;
+        this.rowWriter = objectMapper.writerFor(ArtifactExportRow.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    /**
+     * Writes every artifact to {@code out}. The stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<ArtifactExportRow> rows = this.artifactRepository.streamForExport()) {
+            Iterator<ArtifactExportRow> iterator = rows.iterator();
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+            }
+            while (iterator.hasNext()) {
+                ArtifactExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    this.rowWriter.writeValue(writer, row);
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, ArtifactExportRow row) throws IOException {
+        writer.write(csvField(row.id()));
+        writer.write(',');
+        writer.write(csvField(row.name()));
+        writer.write(',');
+        writer.write(csvField(row.description()));
+        writer.write(',');
+        writer.write(csvField(row.imageUrl()));
+        writer.write(',');
+        writer.write(row.ownerId() != null ? row.ownerId().toString() : "");
+        writer.write(',');
+        writer.write(csvField(row.ownerName()));
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields that contain a separator, a quote or a line break.
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
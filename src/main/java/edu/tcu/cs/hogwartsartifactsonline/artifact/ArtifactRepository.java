@@ -1,9 +1,37 @@
 package edu.tcu.cs.hogwartsartifactsonline.artifact;
 
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactExportRow;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.search.ArtifactText;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 @Repository
-public interface ArtifactRepository extends JpaRepository<Artifact, String>, JpaSpecificationExecutor<Artifact> {
+public interface ArtifactRepository extends JpaRepository<Artifact, String>, JpaSpecificationExecutor<Artifact>, ArtifactRepositoryCustom {
+
+    // Backed by idx_artifact_owner_id, so it never touches the rows themselves. The derived query
+    // would left join wizard to read owner.id; the foreign key column needs no join.
+    @Query("select count(a) from Artifact a where a.owner.id = ?1")
+    long countByOwnerId(Integer ownerId);
+
+    @Query("select new edu.tcu.cs.hogwartsartifactsonline.artifact.search.ArtifactText(a.id, a.name, a.description) from Artifact a")
+    Stream<ArtifactText> streamSearchableText();
+
+    /**
+     * Reads the whole catalog through a forward-only cursor. Must be consumed, and closed, inside
+     * a read-only transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactExportRow(a.id, a.name, a.description, a.imageUrl, o.id, o.name) " +
+            "from Artifact a left join a.owner o order by a.id")
+    Stream<ArtifactExportRow> streamForExport();
 }
@@ -0,0 +1,42 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-only projections that build {@link ArtifactDto}s, including the owner's id, name and
+ * artifact count, straight from one select instead of converting managed entities.
+ */
+public interface ArtifactRepositoryCustom {
+
+    /**
+     * Returns a page of artifacts matching {@code spec}. The count query only runs when the page
+     * size and content do not already tell the total.
+     */
+    Page<ArtifactDto> findDtos(Specification<Artifact> spec, Pageable pageable);
+
+    /**
+     * As {@link #findDtos(Specification, Pageable)}, but asks {@code total} for the number of
+     * matches, e.g. a cached count, when the page does not tell it.
+     */
+    Page<ArtifactDto> findDtos(Specification<Artifact> spec, Pageable pageable, LongSupplier total);
+
+    /**
+     * Returns a slice of artifacts matching {@code spec}, fetching one row more than the page size
+     * to tell whether another one follows instead of counting the matches.
+     */
+    Slice<ArtifactDto> findDtoSlice(Specification<Artifact> spec, Pageable pageable);
+
+    /**
+     * Returns at most {@code limit} artifacts matching {@code spec} in {@code sort} order,
+     * without the count query that a {@code Pageable} lookup would run.
+     */
+    List<ArtifactDto> findDtos(Specification<Artifact> spec, Sort sort, int limit);
+}
@@ -0,0 +1,127 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+public class ArtifactRepositoryCustomImpl implements ArtifactRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ArtifactDto> findDtos(Specification<Artifact> spec, Pageable pageable) {
+        return findDtos(spec, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<ArtifactDto> findDtos(Specification<Artifact> spec, Pageable pageable, LongSupplier total) {
+        TypedQuery<Tuple> query = this.entityManager.createQuery(dtoQuery(spec, pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<ArtifactDto> content = query.getResultList().stream().map(ArtifactRepositoryCustomImpl::toDto).toList();
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    public Slice<ArtifactDto> findDtoSlice(Specification<Artifact> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = this.entityManager.createQuery(dtoQuery(spec, pageable.getSort()));
+        if (pageable.isUnpaged()) {
+            List<ArtifactDto> content = query.getResultList().stream().map(ArtifactRepositoryCustomImpl::toDto).toList();
+            return new SliceImpl<>(content, pageable, false);
+        }
+        List<ArtifactDto> rows = query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList()
+                .stream()
+                .map(ArtifactRepositoryCustomImpl::toDto)
+                .toList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<ArtifactDto> findDtos(Specification<Artifact> spec, Sort sort, int limit) {
+        return this.entityManager.createQuery(dtoQuery(spec, sort))
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(ArtifactRepositoryCustomImpl::toDto)
+                .toList();
+    }
+
+    /**
+     * Selects the artifact columns, the owner through a left join and the owner's artifact count
+     * through a correlated subquery, so no collection is ever initialized.
+     */
+    private CriteriaQuery<Tuple> dtoQuery(Specification<Artifact> spec, Sort sort) {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Artifact> root = query.from(Artifact.class);
+        Join<Artifact, Wizard> owner = root.join("owner", JoinType.LEFT);
+
+        Subquery<Long> numberOfArtifacts = query.subquery(Long.class);
+        Root<Artifact> owned = numberOfArtifacts.from(Artifact.class);
+        numberOfArtifacts.select(criteriaBuilder.count(owned))
+                .where(criteriaBuilder.equal(owned.get("owner"), owner));
+
+        query.multiselect(root.get("id"), root.get("name"), root.get("description"), root.get("imageUrl"),
+                owner.get("id"), owner.get("name"), numberOfArtifacts);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return query;
+    }
+
+    private long count(Specification<Artifact> spec) {
+        CriteriaBuilder criteriaBuilder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Artifact> root = query.from(Artifact.class);
+        query.select(criteriaBuilder.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static ArtifactDto toDto(Tuple row) {
+        Integer ownerId = row.get(4, Integer.class);
+        WizardDto owner = ownerId != null
+                ? new WizardDto(ownerId, row.get(5, String.class), row.get(6, Long.class).intValue())
+                : null;
+        return new ArtifactDto(row.get(0, String.class),
+                row.get(1, String.class),
+                row.get(2, String.class),
+                row.get(3, String.class),
+                owner);
+    }
+}
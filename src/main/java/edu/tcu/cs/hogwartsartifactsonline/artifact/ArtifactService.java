@@ -1,37 +1,68 @@
 package edu.tcu.cs.hogwartsartifactsonline.artifact;
 
 import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactPatch;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.VersionedArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.search.ArtifactTextIndex;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.utils.IdWorker;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.ChatClient;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Message;
+import edu.tcu.cs.hogwartsartifactsonline.system.CursorPage;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeCounter;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.InvalidCursorException;
 import edu.tcu.cs.hogwartsartifactsonline.system.exception.ObjectNotFoundException;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @Transactional
 public class ArtifactService {
     private final ArtifactRepository artifactRepository;
 
-    private final ChatClient chatClient;
-
     private final IdWorker idWorker;
 
-    public ArtifactService(ArtifactRepository artifactRepository, ChatClient chatClient, IdWorker idWorker) {
+    private final ArtifactTextIndex artifactTextIndex;
+
+    private final TableChangeCounter tableChangeCounter;
+
+    private static final List<String> SEARCHABLE_CRITERIA = List.of("id", "name", "description", "ownerName");
+
+    // Match counts by normalized criteria and the artifact and wizard write generation, which every
+    // instance reads from the same table_change rows, so any committed write makes older counts
+    // unreachable; the TTL bounds changes made outside the application.
+    private final Cache<CountKey, Long> counts = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .maximumSize(1_000)
+            .build();
+
+    @Value("${api.pagination.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    public ArtifactService(ArtifactRepository artifactRepository, IdWorker idWorker, ArtifactTextIndex artifactTextIndex,
+                           TableChangeCounter tableChangeCounter) {
         this.artifactRepository = artifactRepository;
-        this.chatClient = chatClient;
         this.idWorker = idWorker;
+        this.artifactTextIndex = artifactTextIndex;
+        this.tableChangeCounter = tableChangeCounter;
     }
 
     public Artifact findById(String artifactId){
@@ -39,6 +70,19 @@ public class ArtifactService {
                 .orElseThrow(()->new ObjectNotFoundException("Artifact", artifactId));
 
     }
+    // The artifact and its owner come from the second-level cache; only the owner's artifact count
+    // is queried, so the owner's artifacts collection is never loaded.
+    public VersionedArtifactDto findVersionedDtoById(String artifactId){
+        Artifact artifact = findById(artifactId);
+        Wizard owner = artifact.getOwner();
+        WizardDto ownerDto = owner != null
+                ? new WizardDto(owner.getId(), owner.getName(), Math.toIntExact(this.artifactRepository.countByOwnerId(owner.getId())))
+                : null;
+        ArtifactDto artifactDto = new ArtifactDto(artifact.getId(), artifact.getName(), artifact.getDescription(),
+                artifact.getImageUrl(), ownerDto);
+        return new VersionedArtifactDto(artifactDto, artifact.getVersion(), owner != null ? owner.getVersion() : null);
+    }
+
     public List<Artifact> findAll(){
         return this.artifactRepository.findAll();
     }
@@ -51,47 +95,168 @@ public class ArtifactService {
     }
 
     public Artifact update(String artifactId, Artifact update){
-       return this.artifactRepository.findById(artifactId)
-               .map(oldArtifact -> {
-                   oldArtifact.setName(update.getName());
-                   oldArtifact.setDescription(update.getDescription());
-                   oldArtifact.setImageUrl(update.getImageUrl());
-                   return this.artifactRepository.save(oldArtifact);
-               })
-               .orElseThrow(() -> new ObjectNotFoundException("Artifact", artifactId));
+        return update(artifactId, update, null);
+    }
+
+    /**
+     * Copies the fields onto the artifact, which usually comes from the second-level cache, and
+     * checks {@code expectedVersion}, taken from If-Match, if given. Saving it issues one
+     * UPDATE ... WHERE id = ? AND version = ?, which evicts only this artifact from the cache.
+     */
+    public Artifact update(String artifactId, Artifact update, Integer expectedVersion){
+        Artifact artifact = findCurrent(artifactId, expectedVersion);
+        artifact.setName(update.getName());
+        artifact.setDescription(update.getDescription());
+        artifact.setImageUrl(update.getImageUrl());
+        Artifact savedArtifact = this.artifactRepository.save(artifact);
+        flush(artifactId, expectedVersion);
+        return savedArtifact;
+    }
+
+    public Artifact patch(String artifactId, ArtifactPatch patch) {
+        return patch(artifactId, patch, null);
+    }
+
+    /**
+     * Applies a JSON Merge Patch the same way as update; only the supplied columns change, so the
+     * UPDATE only sets those and the version.
+     */
+    public Artifact patch(String artifactId, ArtifactPatch patch, Integer expectedVersion) {
+        Artifact artifact = findCurrent(artifactId, expectedVersion);
+        if (patch.name() != null) {
+            artifact.setName(patch.name());
+        }
+        if (patch.description() != null) {
+            artifact.setDescription(patch.description());
+        }
+        if (patch.imageUrl() != null) {
+            artifact.setImageUrl(patch.imageUrl());
+        }
+        Artifact savedArtifact = this.artifactRepository.save(artifact);
+        flush(artifactId, expectedVersion);
+        return savedArtifact;
     }
 
     public void delete(String artifactId){
-    Artifact artifact = this.artifactRepository.findById(artifactId).orElseThrow(() -> new ObjectNotFoundException("Artifact" ,artifactId));
-    this.artifactRepository.deleteById(artifactId);
+        delete(artifactId, null);
     }
 
-    public String summarize(List<ArtifactDto> artifactDtos) throws JsonProcessingException {
+    // A versioned DELETE of the loaded artifact; Hibernate evicts it and its owner's cached collection.
+    public void delete(String artifactId, Integer expectedVersion){
+        Artifact artifact = findCurrent(artifactId, expectedVersion);
+        this.artifactRepository.delete(artifact);
+        flush(artifactId, expectedVersion);
+    }
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        String jsonArray = objectMapper.writeValueAsString(artifactDtos);
+    public Page<ArtifactDto> findAll(Pageable pageable){
+        return this.artifactRepository.findDtos(Specification.where(null), pageable);
+    }
 
-        var prompt = "Your task is to generate a short summary of a given JSON array";
+    public Page<ArtifactDto> findByCriteria(Map<String, String> searchCriteria, Pageable pageable) {
+        return this.artifactRepository.findDtos(toSpecification(searchCriteria), pageable);
+    }
 
-        var messages = List.of(new Message("system", prompt), new Message("user", jsonArray));
-        var chatRequest = new ChatRequest("gpt-3.5-turbo", messages);
+    // One row past the page tells whether another page follows; no count query runs.
+    public Slice<ArtifactDto> findSliceByCriteria(Map<String, String> searchCriteria, Pageable pageable) {
+        return this.artifactRepository.findDtoSlice(toSpecification(searchCriteria), pageable);
+    }
 
-        ChatResponse chatResponse = this.chatClient.generate(chatRequest);
+    /**
+     * As {@link #findByCriteria}, but the total comes from a cache of counts. The write generation
+     * is read before any query, so a count never outlives a write that could have changed it.
+     */
+    public Page<ArtifactDto> findByCriteriaWithCachedCount(Map<String, String> searchCriteria, Pageable pageable) {
+        CountKey key = new CountKey(normalize(searchCriteria), this.tableChangeCounter.eTag(Artifact.class, Wizard.class));
+        Specification<Artifact> spec = toSpecification(searchCriteria);
+        return this.artifactRepository.findDtos(spec, pageable,
+                () -> this.counts.get(key, countKey -> this.artifactRepository.count(spec)));
+    }
 
-        return chatResponse.choices().get(0).message().content();
+    /**
+     * Keyset pagination: seeks past the position encoded in {@code cursor} instead of skipping
+     * rows with an offset, and fetches one extra row to tell whether another page exists.
+     */
+    public CursorPage<ArtifactDto> findByCursor(Map<String, String> searchCriteria, String cursor, Pageable pageable) {
+        ArtifactCursor after = StringUtils.hasLength(cursor) ? ArtifactCursor.decode(cursor) : null;
+        Sort.Order order = after != null ? after.order() : cursorOrder(pageable.getSort());
+        int size = Math.min(pageable.getPageSize(), this.maxPageSize);
+
+        Specification<Artifact> spec = toSpecification(searchCriteria);
+        if (after != null) {
+            spec = spec.and(ArtifactSpecs.isAfter(after));
+        }
+
+        Sort sort = Sort.by(order);
+        if (!"id".equals(order.getProperty())) {
+            sort = sort.and(Sort.by(order.getDirection(), "id"));
+        }
+
+        List<ArtifactDto> artifacts = this.artifactRepository.findDtos(spec, sort, size + 1);
+        boolean hasNext = artifacts.size() > size;
+        List<ArtifactDto> content = hasNext ? artifacts.subList(0, size) : artifacts;
+        String nextCursor = hasNext ? ArtifactCursor.after(content.get(size - 1), order).encode() : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
     }
 
-    public Page<Artifact> findAll(Pageable pageable){
-        return this.artifactRepository.findAll(pageable);
+    private Artifact findCurrent(String artifactId, Integer expectedVersion) {
+        Artifact artifact = this.findById(artifactId);
+        if (expectedVersion != null && !expectedVersion.equals(artifact.getVersion())) {
+            throw new PreconditionFailedException("Artifact", artifactId);
+        }
+        return artifact;
     }
 
-    public Page<Artifact> findByCriteria(Map<String, String> searchCriteria, Pageable pageable) {
+    // With If-Match, writes now, so a write racing past the version check also answers 412 rather than 409 at commit.
+    private void flush(String artifactId, Integer expectedVersion) {
+        if (expectedVersion == null) {
+            return;
+        }
+        try {
+            this.artifactRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("Artifact", artifactId);
+        }
+    }
+
+    // Only the criteria toSpecification reads, with the case-insensitive ones lower-cased.
+    private static Map<String, String> normalize(Map<String, String> searchCriteria) {
+        Map<String, String> normalized = new TreeMap<>();
+        for (String criterion : SEARCHABLE_CRITERIA) {
+            String value = searchCriteria.get(criterion);
+            if (StringUtils.hasLength(value)) {
+                normalized.put(criterion, "id".equals(criterion) ? value : value.toLowerCase(Locale.ROOT));
+            }
+        }
+        return normalized;
+    }
+
+    private record CountKey(Map<String, String> criteria, String generation) {
+    }
+
+    private static Sort.Order cursorOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.asc("id");
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1 || !ArtifactCursor.SORTABLE_PROPERTIES.contains(orders.get(0).getProperty())) {
+            throw new InvalidCursorException("Cursor pagination can only sort by one of %s.".formatted(ArtifactCursor.SORTABLE_PROPERTIES));
+        }
+        return new Sort.Order(orders.get(0).getDirection(), orders.get(0).getProperty());
+    }
+
+    private Specification<Artifact> toSpecification(Map<String, String> searchCriteria) {
         Specification<Artifact> spec = Specification.where(null);
 
         if (StringUtils.hasLength(searchCriteria.get("id"))) {
             spec = spec.and(ArtifactSpecs.hasId(searchCriteria.get("id")));
         }
 
+        // The LIKE predicates below still verify the candidates the index returns.
+        Optional<Set<String>> candidateIds = this.artifactTextIndex.candidates(searchCriteria.get("name"), searchCriteria.get("description"));
+        if (candidateIds.isPresent()) {
+            spec = spec.and(ArtifactSpecs.hasIdIn(candidateIds.get()));
+        }
+
         if (StringUtils.hasLength(searchCriteria.get("name"))) {
             spec = spec.and(ArtifactSpecs.containsName(searchCriteria.get("name")));
         }
@@ -104,6 +269,6 @@ public class ArtifactService {
             spec = spec.and(ArtifactSpecs.hasOwnerName(searchCriteria.get("ownerName")));
         }
 
-        return this.artifactRepository.findAll(spec, pageable);
+        return spec;
     }
 }
@@ -1,7 +1,15 @@
 package edu.tcu.cs.hogwartsartifactsonline.artifact;
 
+import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+import java.util.Locale;
+
 public class ArtifactSpecs {
 
     public static Specification<Artifact> hasId(String providedId) {
@@ -9,19 +17,64 @@ public class ArtifactSpecs {
                 criteriaBuilder.equal(root.get("id"), providedId);
     }
 
+    public static Specification<Artifact> hasIdIn(Collection<String> providedIds) {
+        return (root, query, criteriaBuilder) -> providedIds.isEmpty()
+                ? criteriaBuilder.disjunction()
+                : root.get("id").in(providedIds);
+    }
+
     public static Specification<Artifact> containsName(String providedName) {
         return (root, query, criteriaBuilder) ->
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + providedName.toLowerCase() + "%");
+                criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + providedName.toLowerCase(Locale.ROOT) + "%");
     }
 
     public static Specification<Artifact> containsDescription(String providedDescription) {
         return (root, query, criteriaBuilder) ->
-                criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + providedDescription.toLowerCase() + "%");
+                criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + providedDescription.toLowerCase(Locale.ROOT) + "%");
     }
 
+    /**
+     * Matches the owner's id against a subquery rather than joining the owner again, so the
+     * artifacts are read through idx_artifact_owner_id and the wizards through their name index.
+     */
     public static Specification<Artifact> hasOwnerName(String providedOwnerName) {
-        return (root, query, criteriaBuilder) ->
-                criteriaBuilder.equal(criteriaBuilder.lower(root.get("owner").get("name")), providedOwnerName.toLowerCase());
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Integer> ownerIds = query.subquery(Integer.class);
+            Root<Wizard> wizard = ownerIds.from(Wizard.class);
+            ownerIds.select(wizard.get("id"))
+                    .where(criteriaBuilder.equal(criteriaBuilder.lower(wizard.get("name")), providedOwnerName.toLowerCase(Locale.ROOT)));
+            return root.get("owner").get("id").in(ownerIds);
+        };
+    }
+
+    /**
+     * Seek predicate for keyset pagination: matches the artifacts that come after the cursor
+     * in (sort key, id) order. Null sort keys come first in ascending order and last in
+     * descending order, as H2 and MySQL sort them.
+     */
+    public static Specification<Artifact> isAfter(ArtifactCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean ascending = cursor.direction() == Sort.Direction.ASC;
+            Path<String> id = root.get("id");
+            var idAfter = ascending
+                    ? criteriaBuilder.greaterThan(id, cursor.id())
+                    : criteriaBuilder.lessThan(id, cursor.id());
+            if ("id".equals(cursor.sortProperty())) {
+                return idAfter;
+            }
+
+            Path<String> sortKey = root.get(cursor.sortProperty());
+            if (cursor.value() == null) {
+                var sameKey = criteriaBuilder.and(criteriaBuilder.isNull(sortKey), idAfter);
+                return ascending ? criteriaBuilder.or(sameKey, criteriaBuilder.isNotNull(sortKey)) : sameKey;
+            }
+            var sortKeyAfter = ascending
+                    ? criteriaBuilder.greaterThan(sortKey, cursor.value())
+                    : criteriaBuilder.lessThan(sortKey, cursor.value());
+            var after = criteriaBuilder.or(sortKeyAfter,
+                    criteriaBuilder.and(criteriaBuilder.equal(sortKey, cursor.value()), idAfter));
+            return ascending ? after : criteriaBuilder.or(after, criteriaBuilder.isNull(sortKey));
+        };
     }
 
 }
\ No newline at end of file
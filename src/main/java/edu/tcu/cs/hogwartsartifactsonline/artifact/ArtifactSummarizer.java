@@ -0,0 +1,185 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.ChatClient;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Message;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.TooManyRequestsException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Summarizes the whole catalog with a map-reduce over {@link ChatClient}.
+ * <p>
+ * Artifacts are read in keyset chunks of {@code ai.summary.chunk-size} and each chunk is
+ * summarized on its own. At most {@code ai.summary.concurrency} chunks are being summarized, or
+ * held in memory waiting for it, at any time. The partial summaries are then combined
+ * {@code ai.summary.reduce-fan-in} at a time until a single summary is left. No database
+ * transaction is held while waiting on the chat model, and no thread either: chat calls go
+ * through {@link ChatClient#generateAsync}.
+ * <p>
+ * At most {@code ai.summary.max-in-flight} catalog summaries run at once; further requests are
+ * rejected with {@link TooManyRequestsException}.
+ */
+@Component
+public class ArtifactSummarizer {
+
+    private static final String SUMMARIZE_PROMPT = "Your task is to generate a short summary of a given JSON array";
+
+    private static final String COMBINE_PROMPT = "Your task is to combine the given partial summaries of an artifact catalog, one per paragraph, into one short summary";
+
+    private static final Sort CHUNK_ORDER = Sort.by(Sort.Direction.ASC, "id");
+
+    private final ArtifactRepository artifactRepository;
+
+    private final ChatClient chatClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int chunkSize;
+
+    private final int concurrency;
+
+    private final int reduceFanIn;
+
+    private final Semaphore inFlight;
+
+    // Reads the catalog; chat calls do not occupy these threads.
+    private final ExecutorService executor;
+
+    public ArtifactSummarizer(ArtifactRepository artifactRepository, ChatClient chatClient,
+                              @Value("${ai.summary.chunk-size:200}") int chunkSize,
+                              @Value("${ai.summary.concurrency:4}") int concurrency,
+                              @Value("${ai.summary.reduce-fan-in:10}") int reduceFanIn,
+                              @Value("${ai.summary.max-in-flight:8}") int maxInFlight) {
+        this.artifactRepository = artifactRepository;
+        this.chatClient = chatClient;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+        this.reduceFanIn = Math.max(2, reduceFanIn);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.executor = Executors.newFixedThreadPool(maxInFlight);
+    }
+
+    /**
+     * Starts summarizing the catalog and returns at once. If a chunk summary fails, or the
+     * returned future is cancelled or otherwise completed by the caller, no further chunks are
+     * read or sent to the chat model; calls already made still run to completion.
+     */
+    public CompletableFuture<String> summarizeCatalogAsync() {
+        if (!this.inFlight.tryAcquire()) {
+            throw new TooManyRequestsException("Too many summaries in progress, try again later.");
+        }
+        AtomicBoolean stopped = new AtomicBoolean();
+        CompletableFuture<String> summary;
+        try {
+            summary = CompletableFuture.supplyAsync(() -> summarizeChunks(stopped), this.executor)
+                    .thenCompose(ArtifactSummarizer::allOf)
+                    .thenCompose(summaries -> reduce(summaries, stopped));
+        } catch (RuntimeException ex) {
+            this.inFlight.release();
+            throw ex;
+        }
+        summary.whenComplete((result, ex) -> this.inFlight.release());
+        // A copy, so a caller cancelling it does not release the permit before the work is done.
+        CompletableFuture<String> copy = summary.copy();
+        copy.whenComplete((result, ex) -> {
+            if (ex != null) {
+                stopped.set(true);
+            }
+        });
+        return copy;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private List<CompletableFuture<String>> summarizeChunks(AtomicBoolean stopped) {
+        Semaphore permits = new Semaphore(this.concurrency);
+        List<CompletableFuture<String>> partialSummaries = new ArrayList<>();
+
+        ArtifactCursor after = null;
+        List<ArtifactDto> chunk;
+        do {
+            if (stopped.get()) {
+                break;
+            }
+            Specification<Artifact> spec = after != null ? ArtifactSpecs.isAfter(after) : Specification.where(null);
+            chunk = this.artifactRepository.findDtos(spec, CHUNK_ORDER, this.chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            after = ArtifactCursor.after(chunk.get(chunk.size() - 1), CHUNK_ORDER.iterator().next());
+
+            // Stop reading ahead while enough chunks are being summarized, so memory stays bounded.
+            permits.acquireUninterruptibly();
+            if (stopped.get()) {
+                break;
+            }
+            partialSummaries.add(summarizeAsync(chunk).whenComplete((summary, ex) -> {
+                if (ex != null) {
+                    stopped.set(true);
+                }
+                permits.release();
+            }));
+        } while (chunk.size() == this.chunkSize);
+        // After a failure the failed chunk is in the list, so the summary fails with its error.
+        return partialSummaries;
+    }
+
+    private CompletableFuture<String> reduce(List<String> summaries, AtomicBoolean stopped) {
+        if (stopped.get()) {
+            return CompletableFuture.failedFuture(new CancellationException());
+        }
+        if (summaries.size() <= 1) {
+            return CompletableFuture.completedFuture(summaries.isEmpty() ? "" : summaries.get(0));
+        }
+        List<CompletableFuture<String>> combined = new ArrayList<>();
+        for (int from = 0; from < summaries.size(); from += this.reduceFanIn) {
+            List<String> group = summaries.subList(from, Math.min(from + this.reduceFanIn, summaries.size()));
+            combined.add(group.size() == 1
+                    ? CompletableFuture.completedFuture(group.get(0))
+                    : generateAsync(COMBINE_PROMPT, String.join("\n\n", group)));
+        }
+        return allOf(combined).thenCompose(partials -> reduce(partials, stopped));
+    }
+
+    private CompletableFuture<String> summarizeAsync(List<ArtifactDto> artifactDtos) {
+        try {
+            return generateAsync(SUMMARIZE_PROMPT, this.objectMapper.writeValueAsString(artifactDtos));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<String> generateAsync(String prompt, String content) {
+        return this.chatClient.generateAsync(chatRequest(prompt, content))
+                .thenApply(chatResponse -> chatResponse.choices().get(0).message().content());
+    }
+
+    private static ChatRequest chatRequest(String prompt, String content) {
+        var messages = List.of(new Message("system", prompt), new Message("user", content));
+        return new ChatRequest("gpt-3.5-turbo", messages);
+    }
+
+    private static CompletableFuture<List<String>> allOf(List<CompletableFuture<String>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+}
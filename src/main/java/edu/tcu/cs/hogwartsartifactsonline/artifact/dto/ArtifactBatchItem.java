@@ -0,0 +1,12 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.dto;
+
+/**
+ * Outcome of one item of a batch import: the assigned id on success, the error otherwise.
+ * {@code index} is the zero-based position of the item in the request body.
+ */
+public record ArtifactBatchItem(int index, String id, String error) {
+
+    public boolean success() {
+        return this.error == null;
+    }
+}
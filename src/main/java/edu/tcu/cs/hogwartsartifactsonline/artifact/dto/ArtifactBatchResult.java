@@ -0,0 +1,6 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.dto;
+
+import java.util.List;
+
+public record ArtifactBatchResult(int total, int succeeded, int failed, List<ArtifactBatchItem> items) {
+}
@@ -0,0 +1,8 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.dto;
+
+/**
+ * One exported artifact, flattened so it maps onto a CSV row.
+ */
+public record ArtifactExportRow(String id, String name, String description, String imageUrl,
+                                Integer ownerId, String ownerName) {
+}
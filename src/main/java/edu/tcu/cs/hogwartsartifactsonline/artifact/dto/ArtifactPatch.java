@@ -0,0 +1,55 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.dto;
+
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.InvalidPatchException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The fields of a JSON Merge Patch (RFC 7396) for an artifact; {@code null} means not supplied.
+ * Name, description and imageUrl are required on an artifact, so they can be replaced but not
+ * removed, and no other field can be patched.
+ */
+public record ArtifactPatch(String name, String description, String imageUrl) {
+
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("name", "description", "imageUrl");
+
+    public static ArtifactPatch from(JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new InvalidPatchException(Map.of("patch", "A merge patch must be a JSON object"));
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        String name = text(mergePatch, "name", "Name is required", errors);
+        String description = text(mergePatch, "description", "Description is required", errors);
+        String imageUrl = text(mergePatch, "imageUrl", "ImageUrl is required", errors);
+        for (Iterator<String> fields = mergePatch.fieldNames(); fields.hasNext(); ) {
+            String field = fields.next();
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                errors.put(field, "Field cannot be patched");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidPatchException(errors);
+        }
+        return new ArtifactPatch(name, description, imageUrl);
+    }
+
+    public boolean isEmpty() {
+        return this.name == null && this.description == null && this.imageUrl == null;
+    }
+
+    private static String text(JsonNode mergePatch, String field, String message, Map<String, String> errors) {
+        if (!mergePatch.has(field)) {
+            return null;
+        }
+        JsonNode value = mergePatch.get(field);
+        if (!value.isTextual() || value.asText().isEmpty()) {
+            errors.put(field, message);
+            return null;
+        }
+        return value.asText();
+    }
+}
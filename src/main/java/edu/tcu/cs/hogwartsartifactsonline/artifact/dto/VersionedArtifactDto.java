@@ -0,0 +1,8 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.dto;
+
+/**
+ * An {@link ArtifactDto} with the {@code @Version}s of the artifact and its owner, which its ETag
+ * needs but the API does not show. {@code ownerVersion} is null when the artifact has no owner.
+ */
+public record VersionedArtifactDto(ArtifactDto artifact, Integer version, Integer ownerVersion) {
+}
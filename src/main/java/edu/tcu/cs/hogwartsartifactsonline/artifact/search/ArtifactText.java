@@ -0,0 +1,7 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.search;
+
+/**
+ * The searchable columns of an artifact, read when the text index is rebuilt.
+ */
+public record ArtifactText(String id, String name, String description) {
+}
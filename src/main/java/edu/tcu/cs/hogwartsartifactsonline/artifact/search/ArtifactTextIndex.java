@@ -0,0 +1,192 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.search;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.Artifact;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram indexes over artifact names and descriptions, used to narrow substring
+ * searches to a set of candidate ids before the database evaluates the LIKE predicates.
+ * <p>
+ * The indexes are built from the database once the application is ready and are kept current by
+ * {@link ArtifactTextIndexListener} after each committed write. Changes committed while a
+ * rebuild is running are replayed onto the new indexes once it finishes.
+ * <p>
+ * The candidates must include every matching artifact, so the indexes track the artifact change
+ * count of {@link TableChangeCounter} they reflect. A change only advances it when it directly
+ * follows the last one applied; any write this instance did not see, such as one made by another
+ * instance, leaves the indexes behind the database. Until a background rebuild catches up,
+ * searches are not narrowed and the LIKE predicates scan as they would without an index.
+ */
+@Component
+public class ArtifactTextIndex {
+
+    private final ArtifactRepository artifactRepository;
+
+    private final TableChangeCounter tableChangeCounter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SimpleAsyncTaskExecutor rebuildExecutor = new SimpleAsyncTaskExecutor("artifact-text-index-");
+
+    private final boolean enabled;
+
+    private final int maxCandidates;
+
+    private final Object lock = new Object();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile TrigramIndex names = new TrigramIndex();
+
+    private volatile TrigramIndex descriptions = new TrigramIndex();
+
+    // The artifact change count the indexes reflect; -1 until the first rebuild finishes.
+    private volatile long generation = -1;
+
+    // Changes committed during a rebuild; null when no rebuild is running.
+    private List<Change> pending;
+
+    public ArtifactTextIndex(ArtifactRepository artifactRepository, TableChangeCounter tableChangeCounter,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${api.search.ngram-index.enabled:true}") boolean enabled,
+                             @Value("${api.search.ngram-index.max-candidates:1000}") int maxCandidates) {
+        this.artifactRepository = artifactRepository;
+        this.tableChangeCounter = tableChangeCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!this.enabled) {
+            return;
+        }
+        synchronized (this.lock) {
+            this.pending = new ArrayList<>();
+        }
+
+        TrigramIndex rebuiltNames = new TrigramIndex();
+        TrigramIndex rebuiltDescriptions = new TrigramIndex();
+        // Every change counted up to here is committed, so the rows read afterwards include it.
+        long rebuiltGeneration = this.transactionTemplate.execute(status -> {
+            long changeCount = this.tableChangeCounter.changeCount(Artifact.class);
+            try (Stream<ArtifactText> rows = this.artifactRepository.streamSearchableText()) {
+                rows.forEach(row -> {
+                    rebuiltNames.put(row.id(), row.name());
+                    rebuiltDescriptions.put(row.id(), row.description());
+                });
+            }
+            return changeCount;
+        });
+
+        synchronized (this.lock) {
+            this.names = rebuiltNames;
+            this.descriptions = rebuiltDescriptions;
+            this.generation = rebuiltGeneration;
+            this.pending.stream()
+                    .filter(change -> change.generation() > rebuiltGeneration)
+                    .forEach(this::apply);
+            this.pending = null;
+        }
+    }
+
+    /**
+     * Records a committed artifact write; {@code generation} is the artifact change count right
+     * after it, or -1 if unknown.
+     */
+    public void put(String id, String name, String description, long generation) {
+        record(new Change(new ArtifactText(id, name, description), generation));
+    }
+
+    public void remove(String id, long generation) {
+        // A text without name and description removes the artifact from both indexes.
+        record(new Change(new ArtifactText(id, null, null), generation));
+    }
+
+    /**
+     * Returns the ids of the artifacts whose name and description may contain the given
+     * fragments, or an empty Optional when the index cannot narrow the search: it is disabled,
+     * still building or behind the database, no fragment can be looked up in it, or the candidates
+     * exceed {@code api.search.ngram-index.max-candidates}.
+     */
+    public Optional<Set<String>> candidates(String name, String description) {
+        if (!this.enabled || this.generation < 0) {
+            return Optional.empty();
+        }
+        if (!TrigramIndex.isSearchable(name) && !TrigramIndex.isSearchable(description)) {
+            return Optional.empty();
+        }
+        if (this.generation != this.tableChangeCounter.changeCount(Artifact.class)) {
+            rebuildInBackground();
+            return Optional.empty();
+        }
+        Set<String> result = null;
+        if (StringUtils.hasLength(name)) {
+            result = this.names.search(name, this.maxCandidates);
+        }
+        if (StringUtils.hasLength(description)) {
+            Set<String> matches = this.descriptions.search(description, this.maxCandidates);
+            if (result == null) {
+                result = matches;
+            } else if (matches != null) {
+                result = new HashSet<>(result);
+                result.retainAll(matches);
+            }
+        }
+        return Optional.ofNullable(result);
+    }
+
+    private void rebuildInBackground() {
+        if (this.rebuilding.compareAndSet(false, true)) {
+            this.rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    this.rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    private void record(Change change) {
+        if (!this.enabled) {
+            return;
+        }
+        synchronized (this.lock) {
+            apply(change);
+            if (this.pending != null) {
+                this.pending.add(change);
+            }
+        }
+    }
+
+    private void apply(Change change) {
+        this.names.put(change.text().id(), change.text().name());
+        this.descriptions.put(change.text().id(), change.text().description());
+        if (this.generation >= 0 && change.generation() == this.generation + 1) {
+            this.generation = change.generation();
+        }
+    }
+
+    private record Change(ArtifactText text, long generation) {
+    }
+}
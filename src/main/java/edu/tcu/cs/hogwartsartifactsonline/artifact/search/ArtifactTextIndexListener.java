@@ -0,0 +1,55 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.search;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.Artifact;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeCounter;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeListener;
+import edu.tcu.cs.hogwartsartifactsonline.system.TransactionCallbacks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener that forwards artifact writes to the {@link ArtifactTextIndex} once the
+ * surrounding transaction commits, so rolled back changes never reach the index. Each change
+ * carries the artifact change count right after it, read while this transaction holds the
+ * counter row; it must therefore run after {@link TableChangeListener}. A search between the
+ * database commit and the callback sees the index behind the count and does not use it.
+ * <p>
+ * The index and counter are looked up lazily because Hibernate creates this listener while the
+ * entity manager factory, which the index depends on through its repository, is still being built.
+ */
+public class ArtifactTextIndexListener {
+
+    private final ObjectProvider<ArtifactTextIndex> artifactTextIndex;
+
+    private final ObjectProvider<TableChangeCounter> tableChangeCounter;
+
+    public ArtifactTextIndexListener(ObjectProvider<ArtifactTextIndex> artifactTextIndex,
+                                     ObjectProvider<TableChangeCounter> tableChangeCounter) {
+        this.artifactTextIndex = artifactTextIndex;
+        this.tableChangeCounter = tableChangeCounter;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSave(Artifact artifact) {
+        String id = artifact.getId();
+        String name = artifact.getName();
+        String description = artifact.getDescription();
+        long generation = changeCount();
+        TransactionCallbacks.afterCommit(() -> this.artifactTextIndex.ifAvailable(index -> index.put(id, name, description, generation)));
+    }
+
+    @PostRemove
+    void onRemove(Artifact artifact) {
+        String id = artifact.getId();
+        long generation = changeCount();
+        TransactionCallbacks.afterCommit(() -> this.artifactTextIndex.ifAvailable(index -> index.remove(id, generation)));
+    }
+
+    private long changeCount() {
+        TableChangeCounter counter = this.tableChangeCounter.getIfAvailable();
+        return counter != null ? counter.changeCount(Artifact.class) : -1;
+    }
+}
@@ -0,0 +1,257 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Case- and accent-insensitive trigram inverted index for substring lookups.
+ * <p>
+ * Every indexed text gets an internal int document number; each trigram maps to an ascending
+ * int array of the documents containing it. A query is answered by intersecting the posting
+ * lists of its trigrams, which yields a superset of the documents whose text contains the
+ * query, so callers still have to verify the matches. Updates and removals only tombstone the
+ * old document; the postings are compacted once tombstones outnumber live documents.
+ * <p>
+ * Only texts that fold to printable ASCII are indexed. Database collations also equate things
+ * like the German sharp s and {@code ss}, so any other text is returned as a candidate for every
+ * query, and queries that do not fold to ASCII, or that carry LIKE wildcards, are not narrowed.
+ */
+public class TrigramIndex {
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, PostingList> postings = new HashMap<>();
+
+    private List<String> keys = new ArrayList<>();
+
+    private Map<String, Integer> documents = new HashMap<>();
+
+    private BitSet live = new BitSet();
+
+    private int deleted;
+
+    // Keys whose text does not fold to ASCII; they are candidates for every query.
+    private final Set<String> unindexed = new HashSet<>();
+
+    // Wildcards are not escaped by the LIKE predicates, so such a query matches more than its trigrams.
+    public static boolean isSearchable(String query) {
+        if (query == null) {
+            return false;
+        }
+        String folded = fold(query);
+        return folded.length() >= 3 && isPrintableAscii(folded)
+                && folded.indexOf('%') < 0 && folded.indexOf('_') < 0 && folded.indexOf('\\') < 0;
+    }
+
+    public void put(String key, String text) {
+        this.lock.writeLock().lock();
+        try {
+            removeDocument(key);
+            if (text == null) {
+                return;
+            }
+            String folded = fold(text);
+            if (!isPrintableAscii(folded)) {
+                this.unindexed.add(key);
+                return;
+            }
+            if (folded.length() < 3) {
+                return;
+            }
+            int document = this.keys.size();
+            this.keys.add(key);
+            this.documents.put(key, document);
+            this.live.set(document);
+            for (long trigram : trigrams(folded)) {
+                this.postings.computeIfAbsent(trigram, t -> new PostingList()).add(document);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        this.lock.writeLock().lock();
+        try {
+            removeDocument(key);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size() + this.unindexed.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the keys whose text may contain {@code query}, or null if the query is too short
+     * for the index or more than {@code limit} keys would be returned.
+     */
+    public Set<String> search(String query, int limit) {
+        if (!isSearchable(query)) {
+            return null;
+        }
+        long[] trigrams = trigrams(fold(query));
+
+        this.lock.readLock().lock();
+        try {
+            if (this.unindexed.size() > limit) {
+                return null;
+            }
+            PostingList[] lists = new PostingList[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = this.postings.get(trigrams[i]);
+                if (lists[i] == null) {
+                    return Set.copyOf(this.unindexed);
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            int[] matches = Arrays.copyOf(lists[0].documents, lists[0].size);
+            int matchCount = matches.length;
+            for (int i = 1; i < lists.length && matchCount > 0; i++) {
+                matchCount = intersect(matches, matchCount, lists[i]);
+            }
+
+            Set<String> result = new HashSet<>(this.unindexed);
+            for (int i = 0; i < matchCount; i++) {
+                if (this.live.get(matches[i])) {
+                    if (result.size() == limit) {
+                        return null;
+                    }
+                    result.add(this.keys.get(matches[i]));
+                }
+            }
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(String key) {
+        this.unindexed.remove(key);
+        Integer document = this.documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        this.live.clear(document);
+        this.keys.set(document, null);
+        this.deleted++;
+        if (this.deleted > MIN_COMPACTION_SIZE && this.deleted > this.documents.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live documents densely and drops tombstoned ones from every posting list.
+     * Renumbering preserves order, so the posting lists stay sorted.
+     */
+    private void compact() {
+        int[] renumbered = new int[this.keys.size()];
+        List<String> compactedKeys = new ArrayList<>(this.documents.size());
+        Map<String, Integer> compactedDocuments = new HashMap<>();
+        for (int document = 0; document < this.keys.size(); document++) {
+            if (this.live.get(document)) {
+                renumbered[document] = compactedKeys.size();
+                compactedDocuments.put(this.keys.get(document), compactedKeys.size());
+                compactedKeys.add(this.keys.get(document));
+            } else {
+                renumbered[document] = -1;
+            }
+        }
+
+        Map<Long, PostingList> compactedPostings = new HashMap<>();
+        this.postings.forEach((trigram, list) -> {
+            PostingList compacted = new PostingList();
+            for (int i = 0; i < list.size; i++) {
+                int document = renumbered[list.documents[i]];
+                if (document >= 0) {
+                    compacted.add(document);
+                }
+            }
+            if (compacted.size > 0) {
+                compactedPostings.put(trigram, compacted);
+            }
+        });
+
+        BitSet compactedLive = new BitSet(compactedKeys.size());
+        compactedLive.set(0, compactedKeys.size());
+
+        this.postings = compactedPostings;
+        this.keys = compactedKeys;
+        this.documents = compactedDocuments;
+        this.live = compactedLive;
+        this.deleted = 0;
+    }
+
+    /**
+     * Keeps the entries of {@code matches} that also appear in {@code list}; both are ascending.
+     */
+    private static int intersect(int[] matches, int matchCount, PostingList list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < matchCount && j < list.size; i++) {
+            while (j < list.size && list.documents[j] < matches[i]) {
+                j++;
+            }
+            if (j < list.size && list.documents[j] == matches[i]) {
+                matches[kept++] = matches[i];
+            }
+        }
+        return kept;
+    }
+
+    // Lower-cases and strips accents, as the case- and accent-insensitive collations compare.
+    private static String fold(String text) {
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isPrintableAscii(String text) {
+        return text.chars().allMatch(c -> c >= ' ' && c <= '~');
+    }
+
+    private static long[] trigrams(String folded) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= folded.length(); i++) {
+            trigrams.add(((long) folded.charAt(i) << 32)
+                    | ((long) folded.charAt(i + 1) << 16)
+                    | folded.charAt(i + 2));
+        }
+        return trigrams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static final class PostingList {
+
+        private int[] documents = new int[4];
+
+        private int size;
+
+        private void add(int document) {
+            if (this.size == this.documents.length) {
+                this.documents = Arrays.copyOf(this.documents, this.size * 2);
+            }
+            this.documents[this.size++] = document;
+        }
+    }
+}
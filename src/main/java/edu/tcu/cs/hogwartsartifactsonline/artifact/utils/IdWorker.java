@@ -3,10 +3,20 @@ package edu.tcu.cs.hogwartsartifactsonline.artifact.utils;
 import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
 
 /**
  * This piece of code is from the Internet. The quality is unknown.
  * Only for demoing purpose. Use with caution!
+ * <p>
+ * The last issued timestamp and sequence are packed into a single {@link AtomicLong}, so ids are
+ * handed out with a compare-and-set instead of a monitor. When the clock steps back by less than
+ * {@link #maxClockBackwardMillis} the worker keeps counting on the last timestamp and only waits
+ * once that millisecond's sequence is used up.
  */
 public class IdWorker {
 
@@ -30,21 +40,33 @@ public class IdWorker {
 
     private final static long sequenceMask = -1L ^ (-1L << sequenceBits);
 
-    private static long lastTimestamp = -1L;
+    private final static long maxClockBackwardMillis = 1000L;
 
-    private long sequence = 0L;
+    // (timestamp - twepoch) << sequenceBits | sequence of the last issued id.
+    private final AtomicLong state = new AtomicLong();
 
     private final long workerId;
 
     private final long datacenterId;
 
+    private final LongSupplier clock;
+
+    // How often and how long callers waited in tilNextMillis, exposed as a metric.
+    private final LongAdder waits = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
 
     public IdWorker() {
         this.datacenterId = getDatacenterId(maxDatacenterId);
         this.workerId = getMaxWorkerId(datacenterId, maxWorkerId);
+        this.clock = System::currentTimeMillis;
     }
 
     public IdWorker(long workerId, long datacenterId) {
+        this(workerId, datacenterId, System::currentTimeMillis);
+    }
+
+    IdWorker(long workerId, long datacenterId, LongSupplier clock) {
         if (workerId > maxWorkerId || workerId < 0) {
             throw new IllegalArgumentException(String.format("worker Id can't be greater than %d or less than 0", maxWorkerId));
         }
@@ -53,38 +75,99 @@ public class IdWorker {
         }
         this.workerId = workerId;
         this.datacenterId = datacenterId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        return toId(reserve(1));
     }
 
-    public synchronized long nextId() {
-        long timestamp = timeGen();
-        if (timestamp < lastTimestamp) {
-            throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+    /**
+     * Returns {@code n} ids in ascending order. Ids that fall into the same millisecond are
+     * reserved with a single compare-and-set and are consecutive numbers.
+     */
+    public long[] nextIds(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException(String.format("Number of ids must be positive, got %d", n));
         }
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & sequenceMask;
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
+        long[] ids = new long[n];
+        int filled = 0;
+        while (filled < n) {
+            int count = (int) Math.min(n - filled, sequenceMask + 1);
+            long firstId = toId(reserve(count));
+            for (int i = 0; i < count; i++) {
+                ids[filled++] = firstId + i;
             }
-        } else {
-            sequence = 0L;
         }
-        lastTimestamp = timestamp;
-        long nextId = ((timestamp - twepoch) << timestampLeftShift)
+        return ids;
+    }
+
+    /**
+     * Reserves {@code count} consecutive sequence numbers within one millisecond and returns the
+     * packed state of the first one.
+     */
+    private long reserve(int count) {
+        while (true) {
+            long current = this.state.get();
+            long lastTimestamp = current >>> sequenceBits;
+            long timestamp = timeGen() - twepoch;
+
+            long first;
+            if (timestamp > lastTimestamp) {
+                first = timestamp << sequenceBits;
+            } else {
+                if (lastTimestamp - timestamp > maxClockBackwardMillis) {
+                    throw new IllegalStateException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+                }
+                long nextSequence = (current & sequenceMask) + 1;
+                if (nextSequence + count - 1 > sequenceMask) {
+                    tilNextMillis(lastTimestamp);
+                    continue;
+                }
+                first = (lastTimestamp << sequenceBits) | nextSequence;
+            }
+
+            if (this.state.compareAndSet(current, first + count - 1)) {
+                return first;
+            }
+        }
+    }
+
+    private long toId(long packed) {
+        return ((packed >>> sequenceBits) << timestampLeftShift)
                 | (datacenterId << datacenterIdShift)
-                | (workerId << workerIdShift) | sequence;
-        return nextId;
+                | (workerId << workerIdShift) | (packed & sequenceMask);
     }
 
-    private long tilNextMillis(final long lastTimestamp) {
-        long timestamp = this.timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = this.timeGen();
+    /**
+     * Waits until the clock has passed {@code lastTimestamp} (relative to twepoch). Parks while
+     * more than a millisecond remains, e.g. after the clock stepped back, and spins otherwise.
+     */
+    private void tilNextMillis(final long lastTimestamp) {
+        long start = System.nanoTime();
+        long remaining = lastTimestamp - (this.timeGen() - twepoch);
+        while (remaining >= 0) {
+            if (remaining > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(remaining));
+            } else {
+                Thread.onSpinWait();
+            }
+            remaining = lastTimestamp - (this.timeGen() - twepoch);
         }
-        return timestamp;
+        this.waits.increment();
+        this.waitNanos.add(System.nanoTime() - start);
+    }
+
+    public long getWaitCount() {
+        return this.waits.sum();
+    }
+
+    public double getWaitNanos() {
+        return this.waitNanos.sum();
     }
 
     private long timeGen() {
-        return System.currentTimeMillis();
+        return this.clock.getAsLong();
     }
 
     protected static long getMaxWorkerId(long datacenterId, long maxWorkerId) {
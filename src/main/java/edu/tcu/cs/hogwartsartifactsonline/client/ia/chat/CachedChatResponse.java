@@ -0,0 +1,9 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+
+/**
+ * A stored chat response and the epoch millisecond at which it was received.
+ */
+public record CachedChatResponse(long createdAt, ChatResponse response) {
+}
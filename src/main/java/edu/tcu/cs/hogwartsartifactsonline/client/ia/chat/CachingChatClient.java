@@ -0,0 +1,171 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * {@link ChatClient} decorator that caches responses by a SHA-256 hash of the request.
+ * <p>
+ * An entry younger than {@code freshFor} is returned as is. Between {@code freshFor} and
+ * {@code timeToLive} it is still returned, but a refresh is started in the background
+ * (stale-while-revalidate). Older entries are evicted and the caller waits for a new response.
+ * Concurrent callers with the same request share a single upstream call. Failed calls are not
+ * cached.
+ */
+public class CachingChatClient implements ChatClient {
+
+    private final ChatClient delegate;
+
+    private final FileChatResponseStore store;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration freshFor;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    private final Executor refreshExecutor;
+
+    private final ConcurrentHashMap<String, CompletableFuture<ChatResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public CachingChatClient(ChatClient delegate, FileChatResponseStore store, ObjectMapper objectMapper,
+                             Duration freshFor, Duration timeToLive, Clock clock, Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.freshFor = freshFor;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public ChatResponse generate(ChatRequest chatRequest) {
+        String key = key(chatRequest);
+        ChatResponse cached = cached(key, chatRequest);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return fetch(key, () -> CompletableFuture.completedFuture(this.delegate.generate(chatRequest))).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> generateAsync(ChatRequest chatRequest) {
+        String key = key(chatRequest);
+        ChatResponse cached = cached(key, chatRequest);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return fetch(key, () -> this.delegate.generateAsync(chatRequest));
+    }
+
+    /**
+     * Removes every entry older than the time to live.
+     */
+    public void evictExpired() {
+        long expiredBefore = this.clock.millis() - this.timeToLive.toMillis();
+        this.store.deleteIf(createdAt -> createdAt < expiredBefore);
+    }
+
+    /**
+     * Returns the cached response for {@code key} unless it expired, starting a background
+     * refresh when it is stale.
+     */
+    private ChatResponse cached(String key, ChatRequest chatRequest) {
+        CachedChatResponse cached = this.store.read(key);
+        if (cached == null) {
+            return null;
+        }
+        long age = this.clock.millis() - cached.createdAt();
+        if (age < this.freshFor.toMillis()) {
+            return cached.response();
+        }
+        if (age < this.timeToLive.toMillis()) {
+            fetch(key, () -> CompletableFuture.supplyAsync(() -> this.delegate.generate(chatRequest), this.refreshExecutor));
+            return cached.response();
+        }
+        this.store.delete(key);
+        return null;
+    }
+
+    /**
+     * Joins the upstream call already running for {@code key}, or starts one with
+     * {@code upstream} and stores its response once it arrives.
+     */
+    private CompletableFuture<ChatResponse> fetch(String key, Supplier<CompletableFuture<ChatResponse>> upstream) {
+        CompletableFuture<ChatResponse> call = new CompletableFuture<>();
+        CompletableFuture<ChatResponse> running = this.inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            return running;
+        }
+
+        CompletableFuture<ChatResponse> response;
+        try {
+            response = upstream.get();
+        } catch (Throwable ex) {
+            response = CompletableFuture.failedFuture(ex);
+        }
+        response.whenComplete((chatResponse, ex) -> {
+            try {
+                if (ex != null) {
+                    call.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                } else {
+                    this.store.write(key, new CachedChatResponse(this.clock.millis(), chatResponse));
+                    call.complete(chatResponse);
+                }
+            } catch (Throwable writeFailure) {
+                call.completeExceptionally(writeFailure);
+            } finally {
+                this.inFlight.remove(key, call);
+            }
+            maybeEvictExpired();
+        });
+        return call;
+    }
+
+    // Sweeps the store at most once per time to live, piggybacking on upstream calls.
+    private void maybeEvictExpired() {
+        long now = this.clock.millis();
+        long scheduled = this.nextSweep.get();
+        if (now >= scheduled && this.nextSweep.compareAndSet(scheduled, now + this.timeToLive.toMillis())) {
+            evictExpired();
+        }
+    }
+
+    private String key(ChatRequest chatRequest) {
+        try {
+            byte[] json = this.objectMapper.writeValueAsBytes(chatRequest);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,7 +3,17 @@ package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
 import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
 import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface ChatClient {
 
     ChatResponse generate(ChatRequest chatRequest);
-}
\ No newline at end of file
+
+    /**
+     * Like {@link #generate}, but returns at once. The default runs {@link #generate} on the
+     * common pool; implementations should override it so no thread waits on the model.
+     */
+    default CompletableFuture<ChatResponse> generateAsync(ChatRequest chatRequest) {
+        return CompletableFuture.supplyAsync(() -> generate(chatRequest));
+    }
+}
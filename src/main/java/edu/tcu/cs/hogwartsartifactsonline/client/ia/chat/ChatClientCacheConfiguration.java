@@ -0,0 +1,39 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "ai.chat.cache.enabled", havingValue = "true")
+public class ChatClientCacheConfiguration {
+
+    // Primary, so everything that injects a ChatClient goes through the cache; only misses reach the metered model client.
+    @Bean
+    @Primary
+    public CachingChatClient cachingChatClient(OpenAiChatClient openAiChatClient, MeterRegistry meterRegistry,
+                                               ObjectMapper objectMapper, Environment environment,
+                                               @Value("${ai.chat.cache.directory}") Path directory,
+                                               @Value("${ai.chat.cache.fresh-for:1h}") Duration freshFor,
+                                               @Value("${ai.chat.cache.time-to-live:24h}") Duration timeToLive) {
+        SimpleAsyncTaskExecutor refreshExecutor = Threading.VIRTUAL.isActive(environment)
+                ? RestClientBuilderConfiguration.virtualThreadExecutor("chat-cache-refresh-")
+                : new SimpleAsyncTaskExecutor("chat-cache-refresh-");
+        CachingChatClient cachingChatClient = new CachingChatClient(new MeteredChatClient(openAiChatClient, meterRegistry),
+                new FileChatResponseStore(directory, objectMapper), objectMapper,
+                freshFor, timeToLive, Clock.systemUTC(), refreshExecutor);
+        cachingChatClient.evictExpired();
+        return cachingChatClient;
+    }
+}
@@ -0,0 +1,117 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.CircuitBreakerOpenException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs calls to the chat model through a {@link CircuitBreaker} and retries them per
+ * {@link RetryPolicy}. Every attempt asks the breaker first, so retries stop as soon as it opens.
+ * Only transient failures count against the breaker; e.g. a 401 means the upstream is healthy.
+ */
+@Component
+public class ChatClientResilience {
+
+    private static final String UPSTREAM = "The chat model";
+
+    private final RetryPolicy retryPolicy;
+
+    private final CircuitBreaker circuitBreaker;
+
+    public ChatClientResilience(@Value("${ai.openai.retry.max-attempts:3}") int maxAttempts,
+                                @Value("${ai.openai.retry.initial-backoff:500ms}") Duration initialBackoff,
+                                @Value("${ai.openai.retry.max-backoff:10s}") Duration maxBackoff,
+                                @Value("${ai.openai.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                @Value("${ai.openai.circuit-breaker.open-for:30s}") Duration openFor) {
+        this.retryPolicy = new RetryPolicy(maxAttempts, initialBackoff, maxBackoff);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openFor, Clock.systemUTC());
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            acquirePermission();
+            try {
+                T result = call.get();
+                this.circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException ex) {
+                Optional<Duration> delay = onFailure(attempt, ex);
+                if (delay.isEmpty()) {
+                    throw ex;
+                }
+                sleep(delay.get(), ex);
+            }
+        }
+    }
+
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        return attemptAsync(call, 1);
+    }
+
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return this.circuitBreaker.getState();
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(Supplier<CompletableFuture<T>> call, int attempt) {
+        try {
+            acquirePermission();
+        } catch (CircuitBreakerOpenException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        return result.handle((value, ex) -> {
+            if (ex == null) {
+                this.circuitBreaker.onSuccess();
+                return CompletableFuture.completedFuture(value);
+            }
+            Throwable failure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            Optional<Duration> delay = onFailure(attempt, failure);
+            if (delay.isEmpty()) {
+                return CompletableFuture.<T>failedFuture(failure);
+            }
+            // No thread waits out the backoff; the next attempt is scheduled instead.
+            Executor delayed = CompletableFuture.delayedExecutor(delay.get().toMillis(), TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> attemptAsync(call, attempt + 1), delayed)
+                    .thenCompose(Function.identity());
+        }).thenCompose(Function.identity());
+    }
+
+    private void acquirePermission() {
+        if (!this.circuitBreaker.tryAcquirePermission()) {
+            throw new CircuitBreakerOpenException(UPSTREAM, this.circuitBreaker.remainingOpen());
+        }
+    }
+
+    private Optional<Duration> onFailure(int attempt, Throwable failure) {
+        if (RetryPolicy.isTransient(failure)) {
+            this.circuitBreaker.onFailure();
+        } else {
+            this.circuitBreaker.onSuccess();
+        }
+        return this.retryPolicy.nextDelay(attempt, failure);
+    }
+
+    private static void sleep(Duration delay, RuntimeException failure) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
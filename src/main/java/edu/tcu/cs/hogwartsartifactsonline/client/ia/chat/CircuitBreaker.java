@@ -0,0 +1,83 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Stops calling an upstream that keeps failing.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the breaker opens and calls are refused
+ * for {@code openFor}. Then a single trial call is let through (half-open): if it succeeds the
+ * breaker closes, otherwise it opens again.
+ */
+public class CircuitBreaker {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final int failureThreshold;
+
+    private final Duration openFor;
+
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private Instant openUntil = Instant.MIN;
+
+    private boolean trialInProgress;
+
+    public CircuitBreaker(int failureThreshold, Duration openFor, Clock clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openFor = openFor;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether a call may be made now. A caller that gets {@code true} must report the outcome
+     * with {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (this.state == State.OPEN && !this.clock.instant().isBefore(this.openUntil)) {
+            this.state = State.HALF_OPEN;
+            this.trialInProgress = false;
+        }
+        return switch (this.state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (this.trialInProgress) {
+                    yield false;
+                }
+                this.trialInProgress = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        this.state = State.CLOSED;
+        this.consecutiveFailures = 0;
+        this.trialInProgress = false;
+    }
+
+    public synchronized void onFailure() {
+        this.consecutiveFailures++;
+        if (this.state == State.HALF_OPEN || this.consecutiveFailures >= this.failureThreshold) {
+            this.state = State.OPEN;
+            this.openUntil = this.clock.instant().plus(this.openFor);
+            this.trialInProgress = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    public synchronized Duration remainingOpen() {
+        Duration remaining = Duration.between(this.clock.instant(), this.openUntil);
+        return this.state != State.OPEN || remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
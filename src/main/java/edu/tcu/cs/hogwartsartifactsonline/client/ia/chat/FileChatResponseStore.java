@@ -0,0 +1,99 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one JSON file per cache key in a directory, so cached chat responses survive restarts.
+ * Files are written to a temporary name and atomically moved into place, which means readers
+ * never see a partially written entry.
+ */
+public class FileChatResponseStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileChatResponseStore.class);
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+
+    private final ObjectMapper objectMapper;
+
+    public FileChatResponseStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create chat cache directory " + directory, e);
+        }
+    }
+
+    /**
+     * Returns the entry stored under {@code key}, or null if there is none or it is unreadable.
+     */
+    public CachedChatResponse read(String key) {
+        Path file = file(key);
+        try {
+            return this.objectMapper.readValue(Files.readAllBytes(file), CachedChatResponse.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Discarding unreadable chat cache entry {}", file, e);
+            delete(key);
+            return null;
+        }
+    }
+
+    public void write(String key, CachedChatResponse entry) {
+        Path file = file(key);
+        try {
+            Path temp = Files.createTempFile(this.directory, key, ".tmp");
+            Files.write(temp, this.objectMapper.writeValueAsBytes(entry));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The response is still returned to the caller; it just is not cached.
+            log.warn("Could not write chat cache entry {}", file, e);
+        }
+    }
+
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            log.warn("Could not delete chat cache entry {}", file(key), e);
+        }
+    }
+
+    /**
+     * Deletes every entry whose creation time matches {@code expired}.
+     */
+    public void deleteIf(LongPredicate expired) {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(file -> {
+                        String name = file.getFileName().toString();
+                        String key = name.substring(0, name.length() - SUFFIX.length());
+                        CachedChatResponse entry = read(key);
+                        if (entry != null && expired.test(entry.createdAt())) {
+                            delete(key);
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Could not sweep chat cache directory {}", this.directory, e);
+        }
+    }
+
+    private Path file(String key) {
+        return this.directory.resolve(key + SUFFIX);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Times the calls to the chat model as {@code ai.chat.requests}, tagged with the outcome and the
+ * exception, if any. A call includes its retries; it wraps the upstream client, so responses
+ * served from the cache are not counted.
+ */
+public class MeteredChatClient implements ChatClient {
+
+    private static final String METRIC_NAME = "ai.chat.requests";
+
+    private final ChatClient delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    public MeteredChatClient(ChatClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ChatResponse generate(ChatRequest chatRequest) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        try {
+            ChatResponse chatResponse = this.delegate.generate(chatRequest);
+            sample.stop(timer(null));
+            return chatResponse;
+        } catch (RuntimeException ex) {
+            sample.stop(timer(ex));
+            throw ex;
+        }
+    }
+
+    @Override
+    public CompletableFuture<ChatResponse> generateAsync(ChatRequest chatRequest) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        return this.delegate.generateAsync(chatRequest)
+                .whenComplete((chatResponse, ex) -> sample.stop(timer(ex)));
+    }
+
+    private Timer timer(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return Timer.builder(METRIC_NAME)
+                .description("Calls to the chat model, retries included")
+                .tag("outcome", failure == null ? "SUCCESS" : "ERROR")
+                .tag("exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                .register(this.meterRegistry);
+    }
+}
@@ -2,30 +2,126 @@ package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
 
 import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
 import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class OpenAiChatClient implements ChatClient {
     private final RestClient restClient;
 
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final URI endpoint;
+
+    private final String apiKey;
+
+    private final Duration readTimeout;
+
+    private final ChatClientResilience resilience;
+
     public OpenAiChatClient(@Value("${ai.openai.endpoint}") String endpoint,
-                            @Value("${ai.openai.api-key}") String apiKey, RestClient.Builder restClientBuilder) {
+                            @Value("${ai.openai.api-key}") String apiKey,
+                            @Value("${http.client.read-timeout:60s}") Duration readTimeout, RestClient.Builder restClientBuilder,
+                            ObjectMapper objectMapper, ObjectProvider<HttpClient> httpClient, ChatClientResilience resilience) {
         this.restClient = restClientBuilder
                 .baseUrl(endpoint)
                 .defaultHeader("Authorization","Bearer " + apiKey)
                 .build();
+        this.httpClient = httpClient.getIfAvailable(HttpClient::newHttpClient);
+        this.objectMapper = objectMapper;
+        this.endpoint = URI.create(endpoint);
+        this.apiKey = apiKey;
+        this.readTimeout = readTimeout;
+        this.resilience = resilience;
     }
 
+    /**
+     * Retries transient failures and fails fast while the circuit breaker is open, see
+     * {@link ChatClientResilience}.
+     */
     @Override
     public ChatResponse generate(ChatRequest chatRequest) {
 
-        return this.restClient.post()
+        return this.resilience.execute(() -> this.restClient.post()
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(chatRequest)
                 .retrieve()
-                .body(ChatResponse.class);
+                .body(ChatResponse.class));
+    }
+
+    /**
+     * Sends the request with {@link HttpClient#sendAsync}, so no thread waits for the model.
+     * Error statuses fail the future with the same exceptions {@link #generate} throws, and
+     * failures are retried the same way.
+     */
+    @Override
+    public CompletableFuture<ChatResponse> generateAsync(ChatRequest chatRequest) {
+        return this.resilience.executeAsync(() -> send(chatRequest));
+    }
+
+    private CompletableFuture<ChatResponse> send(ChatRequest chatRequest) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(this.endpoint)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + this.apiKey)
+                    .timeout(this.readTimeout)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(chatRequest)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::toChatResponse);
+    }
+
+    private ChatResponse toChatResponse(HttpResponse<byte[]> response) {
+        HttpStatusCode statusCode = HttpStatusCode.valueOf(response.statusCode());
+        if (statusCode.isError()) {
+            throw toException(statusCode, response);
+        }
+        try {
+            return this.objectMapper.readValue(response.body(), ChatResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RuntimeException toException(HttpStatusCode statusCode, HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        byte[] body = response.body();
+        // Same message format as RestClient, which ExceptionHandlerAdvice parses.
+        String message = statusCode.value() + ": \"" + new String(body, StandardCharsets.UTF_8).replace("\n", "<EOL>") + "\"";
+        if (statusCode.is4xxClientError()) {
+            return HttpClientErrorException.create(message, statusCode, "", headers, body, StandardCharsets.UTF_8);
+        }
+        if (statusCode.is5xxServerError()) {
+            return HttpServerErrorException.create(message, statusCode, "", headers, body, StandardCharsets.UTF_8);
+        }
+        return new UnknownHttpStatusCodeException(message, statusCode.value(), "", headers, body, StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,42 @@
 package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class RestClientBuilderConfiguration {
 
     @Bean
-    public RestClient.Builder restClientBuilder() {
-        return RestClient.builder().requestFactory(new JdkClientHttpRequestFactory());
+    public HttpClient httpClient(Environment environment,
+                                 @Value("${http.client.connect-timeout:5s}") Duration connectTimeout) {
+        HttpClient.Builder httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // The HttpClient's own work, e.g. reading responses, otherwise runs on a cached platform pool.
+            httpClient.executor(virtualThreadExecutor("http-client-"));
+        }
+        return httpClient.build();
+    }
+
+    @Bean
+    public RestClient.Builder restClientBuilder(HttpClient httpClient,
+                                                @Value("${http.client.read-timeout:60s}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder().requestFactory(requestFactory);
+    }
+
+    static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
     }
-}
\ No newline at end of file
+}
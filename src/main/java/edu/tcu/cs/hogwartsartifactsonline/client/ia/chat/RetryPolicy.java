@@ -0,0 +1,89 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed call is retried and how long to wait first.
+ * <p>
+ * Only transient failures are retried: I/O errors including timeouts, 408, 429 and 5xx except
+ * 501. The wait doubles with every attempt up to {@code maxBackoff}, and a random half of it is
+ * dropped so clients failing together do not retry together. A {@code Retry-After} header
+ * replaces the computed wait; if it asks for more than {@code maxBackoff} the call is not retried.
+ */
+public class RetryPolicy {
+
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(408, 429, 500, 502, 503, 504);
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Returns how long to wait before the attempt after {@code attempt}, or empty if
+     * {@code failure} should be thrown.
+     */
+    public Optional<Duration> nextDelay(int attempt, Throwable failure) {
+        if (attempt >= this.maxAttempts || !isTransient(failure)) {
+            return Optional.empty();
+        }
+        Optional<Duration> retryAfter = retryAfter(failure);
+        if (retryAfter.isPresent()) {
+            return retryAfter.get().compareTo(this.maxBackoff) <= 0 ? retryAfter : Optional.empty();
+        }
+        long backoff = Math.min(this.maxBackoff.toMillis(), this.initialBackoff.toMillis() << Math.min(attempt - 1, 30));
+        long half = backoff / 2;
+        return Optional.of(Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(backoff - half + 1)));
+    }
+
+    /**
+     * Whether {@code failure} says the upstream is struggling rather than that the request was wrong.
+     */
+    public static boolean isTransient(Throwable failure) {
+        if (failure instanceof HttpStatusCodeException ex) {
+            return TRANSIENT_STATUSES.contains(ex.getStatusCode().value());
+        }
+        return failure instanceof ResourceAccessException || failure instanceof IOException;
+    }
+
+    private static Optional<Duration> retryAfter(Throwable failure) {
+        if (!(failure instanceof HttpStatusCodeException ex) || ex.getResponseHeaders() == null) {
+            return Optional.empty();
+        }
+        String value = ex.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(Instant.now(), at);
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException notDate) {
+                return Optional.empty();
+            }
+        }
+    }
+}
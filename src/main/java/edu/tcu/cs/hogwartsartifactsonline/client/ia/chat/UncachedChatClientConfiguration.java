@@ -0,0 +1,19 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(name = "ai.chat.cache.enabled", havingValue = "false", matchIfMissing = true)
+public class UncachedChatClientConfiguration {
+
+    // Primary, as the caching client is when the cache is on, so model calls are always timed.
+    @Bean
+    @Primary
+    public MeteredChatClient meteredChatClient(OpenAiChatClient openAiChatClient, MeterRegistry meterRegistry) {
+        return new MeteredChatClient(openAiChatClient, meterRegistry);
+    }
+}
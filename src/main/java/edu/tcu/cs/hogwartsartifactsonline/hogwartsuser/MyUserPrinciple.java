@@ -7,32 +7,51 @@ import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 
+/**
+ * An immutable snapshot of a {@link HogwartsUser}, with the roles parsed into authorities once,
+ * so it can be cached and shared between requests.
+ */
 public class MyUserPrinciple implements UserDetails {
 
-    private final HogwartsUser hogwartsUser;
+    private final Integer id;
+
+    private final String username;
+
+    private final String password;
+
+    private final boolean enable;
+
+    private final String roles;
+
+    private final List<GrantedAuthority> authorities;
 
     public MyUserPrinciple(HogwartsUser hogwartsUser) {
-        this.hogwartsUser = hogwartsUser;
+        this.id = hogwartsUser.getId();
+        this.username = hogwartsUser.getUsername();
+        this.password = hogwartsUser.getPassword();
+        this.enable = hogwartsUser.isEnable();
+        this.roles = hogwartsUser.getRoles();
+        this.authorities = Arrays.stream(StringUtils.tokenizeToStringArray(this.roles, " "))
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
     }
 
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-
-        return Arrays.stream(StringUtils.tokenizeToStringArray(this.hogwartsUser.getRoles(), " "))
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role)).collect(Collectors.toList());
+        return this.authorities;
     }
 
     @Override
     public String getPassword() {
-        return this.hogwartsUser.getPassword();
+        return this.password;
     }
 
     @Override
     public String getUsername() {
-        return this.hogwartsUser.getUsername();
+        return this.username;
     }
 
     @Override
@@ -52,10 +71,19 @@ public class MyUserPrinciple implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return this.hogwartsUser.isEnable();
+        return this.enable;
     }
 
+    /**
+     * Returns a new, detached {@link HogwartsUser} with this principal's values.
+     */
     public HogwartsUser getHogwartsUser() {
+        HogwartsUser hogwartsUser = new HogwartsUser();
+        hogwartsUser.setId(this.id);
+        hogwartsUser.setUsername(this.username);
+        hogwartsUser.setPassword(this.password);
+        hogwartsUser.setEnable(this.enable);
+        hogwartsUser.setRoles(this.roles);
         return hogwartsUser;
     }
 }
@@ -0,0 +1,8 @@
+package edu.tcu.cs.hogwartsartifactsonline.hogwartsuser;
+
+/**
+ * Published after a user's account details changed or the user was deleted, so anything holding
+ * on to the user's credentials or authorities can drop them.
+ */
+public record UserModifiedEvent(String username) {
+}
@@ -1,12 +1,16 @@
 package edu.tcu.cs.hogwartsartifactsonline.hogwartsuser;
 
 import edu.tcu.cs.hogwartsartifactsonline.system.exception.ObjectNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 
 @Service
@@ -16,14 +20,26 @@ public class UserService implements UserDetailsService {
 
     private final PasswordEncoder passwordEncoder;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Principals by username, so Basic-authenticated requests skip the database. Every write
+    // below invalidates the affected usernames; the TTL only bounds changes made elsewhere.
+    private final Cache<String, MyUserPrinciple> principals = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .maximumSize(10_000)
+            .build();
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     public HogwartsUser save(HogwartsUser newUser) {
         newUser.setPassword(passwordEncoder.encode(newUser.getPassword()));
-        return this.userRepository.save(newUser);
+        HogwartsUser savedUser = this.userRepository.save(newUser);
+        this.principals.invalidate(savedUser.getUsername());
+        return savedUser;
     }
 
     public HogwartsUser findById(Integer userId) {
@@ -37,21 +53,32 @@ public class UserService implements UserDetailsService {
 
     public HogwartsUser update(Integer userId, HogwartsUser update) {
         var oldUser = findById(userId);
+        String oldUsername = oldUser.getUsername();
         oldUser.setUsername(update.getUsername());
         oldUser.setEnable(update.isEnable());
         oldUser.setRoles(update.getRoles());
-        return this.userRepository.save(oldUser);
+        HogwartsUser updatedUser = this.userRepository.save(oldUser);
+        this.principals.invalidate(oldUsername);
+        this.principals.invalidate(updatedUser.getUsername());
+        this.eventPublisher.publishEvent(new UserModifiedEvent(oldUsername));
+        return updatedUser;
     }
 
     public void delete(Integer userId) {
-        findById(userId);
+        HogwartsUser user = findById(userId);
         this.userRepository.deleteById(userId);
+        this.principals.invalidate(user.getUsername());
+        this.eventPublisher.publishEvent(new UserModifiedEvent(user.getUsername()));
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return this.userRepository.findByUsername(username)
+        MyUserPrinciple principal = this.principals.get(username, key -> this.userRepository.findByUsername(key)
                 .map(MyUserPrinciple::new)
-                .orElseThrow(() -> new UsernameNotFoundException("Username %s is not found.".formatted(username)));
+                .orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("Username %s is not found.".formatted(username));
+        }
+        return principal;
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import edu.tcu.cs.hogwartsartifactsonline.hogwartsuser.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Puts a {@link CachingAuthenticationProvider} in front of the usual user lookup and BCrypt check
+ * when {@code security.authentication-cache.enabled} is true. Being the only
+ * {@code AuthenticationProvider} bean, it becomes the provider behind HTTP Basic.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "security.authentication-cache", name = "enabled", havingValue = "true")
+public class AuthenticationCacheConfiguration {
+
+    @Bean
+    public CachingAuthenticationProvider cachingAuthenticationProvider(UserService userService, PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                                                                       @Value("${security.authentication-cache.time-to-live:60s}") Duration timeToLive,
+                                                                       @Value("${security.authentication-cache.maximum-size:10000}") long maximumSize) {
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        daoAuthenticationProvider.setUserDetailsService(userService);
+        return new CachingAuthenticationProvider(daoAuthenticationProvider, timeToLive, maximumSize, meterRegistry);
+    }
+}
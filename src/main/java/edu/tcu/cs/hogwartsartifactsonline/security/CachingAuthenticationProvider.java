@@ -0,0 +1,129 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import edu.tcu.cs.hogwartsartifactsonline.hogwartsuser.UserModifiedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Remembers username/password pairs that {@code delegate} verified recently, so repeated Basic
+ * logins skip the user lookup and the BCrypt check.
+ * <p>
+ * Entries are keyed by an HMAC of the credentials under a key generated at startup, so the
+ * passwords themselves are never kept. Only successful authentications are cached, and all of a
+ * user's entries are dropped as soon as a {@link UserModifiedEvent} for that user is published.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+
+    private final Cache<String, Authentication> cache;
+
+    private final SecretKeySpec hmacKey;
+
+    private final Timer verifications;
+
+    private final Counter hits;
+
+    private final DoubleAdder savedSeconds = new DoubleAdder();
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration timeToLive, long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSize)
+                .build();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+
+        this.verifications = Timer.builder("security.authentication.verifications")
+                .description("Time spent loading the user and checking the password")
+                .register(meterRegistry);
+        this.hits = Counter.builder("security.authentication.cache.hits")
+                .description("Logins answered from the authentication cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.authentication.cache.saved", this.savedSeconds, DoubleAdder::sum)
+                .description("Estimated verification time saved by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return this.delegate.authenticate(authentication);
+        }
+        String key = cacheKey(authentication.getName(), authentication.getCredentials().toString());
+
+        Authentication cached = this.cache.getIfPresent(key);
+        if (cached != null) {
+            this.hits.increment();
+            this.savedSeconds.add(this.verifications.mean(TimeUnit.SECONDS));
+            return copyOf(cached, authentication);
+        }
+
+        Authentication result = this.verifications.record(() -> this.delegate.authenticate(authentication));
+        if (result != null && result.isAuthenticated()) {
+            // Keep our own copy: ProviderManager erases the credentials of the returned token.
+            this.cache.put(key, copyOf(result, authentication));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    @EventListener
+    public void onUserModified(UserModifiedEvent event) {
+        this.cache.asMap().values().removeIf(cached -> cached.getName().equals(event.username()));
+    }
+
+    long estimatedSize() {
+        this.cache.cleanUp();
+        return this.cache.estimatedSize();
+    }
+
+    private String cacheKey(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(this.hmacKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // The separator keeps "ab" + "c" and "a" + "bc" apart.
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static Authentication copyOf(Authentication source, Authentication request) {
+        UsernamePasswordAuthenticationToken copy = UsernamePasswordAuthenticationToken.authenticated(
+                source.getPrincipal(), null, source.getAuthorities());
+        copy.setDetails(request.getDetails());
+        return copy;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Remembers the authorities converted from a {@link Jwt} for as long as that instance is alive.
+ * <p>
+ * {@link CachingJwtDecoder} hands out the same {@code Jwt} instance for the same token, so the
+ * {@code authorities} claim is only split once per token. Keys are held weakly and compared by
+ * identity, so entries go away together with the decoder's.
+ */
+public class CachingGrantedAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    private final Converter<Jwt, Collection<GrantedAuthority>> delegate;
+
+    private final Cache<Jwt, Collection<GrantedAuthority>> cache;
+
+    public CachingGrantedAuthoritiesConverter(Converter<Jwt, Collection<GrantedAuthority>> delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        return this.cache.get(jwt, key -> List.copyOf(this.delegate.convert(key)));
+    }
+}
@@ -0,0 +1,103 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Remembers tokens that {@code delegate} already decoded and validated, so a client sending the
+ * same bearer token again skips parsing and signature verification.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token and never outlive the token's
+ * {@code exp}, nor {@code maxTimeToLive}. Tokens that fail validation are not cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> cache;
+
+    private final Duration maxTimeToLive;
+
+    private final Clock clock;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Duration maxTimeToLive, long maximumSize) {
+        this(delegate, maxTimeToLive, maximumSize, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, Duration maxTimeToLive, long maximumSize, Clock clock) {
+        this.delegate = delegate;
+        this.maxTimeToLive = maxTimeToLive;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+                        return untilExpiry(jwt, maxTimeToLive, clock).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, jwt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Jwt cached = this.cache.getIfPresent(key);
+        if (cached != null && cached.getTokenValue().equals(token)) {
+            return cached;
+        }
+        Jwt jwt = this.delegate.decode(token);
+        if (!untilExpiry(jwt, this.maxTimeToLive, this.clock).isZero()) {
+            this.cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    long estimatedSize() {
+        this.cache.cleanUp();
+        return this.cache.estimatedSize();
+    }
+
+    private static Duration untilExpiry(Jwt jwt, Duration maxTimeToLive, Clock clock) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return maxTimeToLive;
+        }
+        Duration remaining = Duration.between(clock.instant(), expiresAt);
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(maxTimeToLive) < 0 ? remaining : maxTimeToLive;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
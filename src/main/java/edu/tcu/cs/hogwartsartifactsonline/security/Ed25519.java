@@ -0,0 +1,153 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.EdECPrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Ed25519 JWS signing on top of the JDK's own EdDSA provider.
+ * <p>
+ * Nimbus only signs and verifies Ed25519 through the optional Tink library, so keys are converted
+ * between their JWK form (raw 32-byte {@code x} and {@code d}) and JCA keys here instead.
+ */
+final class Ed25519 {
+
+    private static final String ALGORITHM = "Ed25519";
+
+    // DER prefixes of an Ed25519 SubjectPublicKeyInfo and PKCS#8 PrivateKeyInfo, followed by the raw key.
+    private static final byte[] X509_PREFIX = HexFormat.of().parseHex("302a300506032b6570032100");
+
+    private static final byte[] PKCS8_PREFIX = HexFormat.of().parseHex("302e020100300506032b657004220420");
+
+    private Ed25519() {
+    }
+
+    static OctetKeyPair generate(String keyId) throws JOSEException {
+        try {
+            KeyPair keyPair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+            byte[] encodedPublicKey = keyPair.getPublic().getEncoded();
+            byte[] x = Arrays.copyOfRange(encodedPublicKey, encodedPublicKey.length - 32, encodedPublicKey.length);
+            byte[] d = ((EdECPrivateKey) keyPair.getPrivate()).getBytes().orElseThrow();
+            return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x))
+                    .d(Base64URL.encode(d))
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.EdDSA)
+                    .keyID(keyId)
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException("Could not generate an Ed25519 key", e);
+        }
+    }
+
+    static PublicKey toPublicKey(OctetKeyPair jwk) throws JOSEException {
+        try {
+            return KeyFactory.getInstance(ALGORITHM).generatePublic(new X509EncodedKeySpec(concat(X509_PREFIX, jwk.getDecodedX())));
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException("Invalid Ed25519 public key", e);
+        }
+    }
+
+    static PrivateKey toPrivateKey(OctetKeyPair jwk) throws JOSEException {
+        try {
+            return KeyFactory.getInstance(ALGORITHM).generatePrivate(new PKCS8EncodedKeySpec(concat(PKCS8_PREFIX, jwk.getDecodedD())));
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException("Invalid Ed25519 private key", e);
+        }
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] key) {
+        byte[] encoded = Arrays.copyOf(prefix, prefix.length + key.length);
+        System.arraycopy(key, 0, encoded, prefix.length, key.length);
+        return encoded;
+    }
+
+    static class Signer implements JWSSigner {
+
+        private final PrivateKey privateKey;
+
+        private final JCAContext jcaContext = new JCAContext();
+
+        Signer(OctetKeyPair jwk) throws JOSEException {
+            this.privateKey = toPrivateKey(jwk);
+        }
+
+        @Override
+        public Base64URL sign(JWSHeader header, byte[] signingInput) throws JOSEException {
+            try {
+                Signature signature = Signature.getInstance(ALGORITHM);
+                signature.initSign(this.privateKey);
+                signature.update(signingInput);
+                return Base64URL.encode(signature.sign());
+            } catch (GeneralSecurityException e) {
+                throw new JOSEException("Could not sign with Ed25519", e);
+            }
+        }
+
+        @Override
+        public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+            return Set.of(JWSAlgorithm.EdDSA);
+        }
+
+        @Override
+        public JCAContext getJCAContext() {
+            return this.jcaContext;
+        }
+    }
+
+    static class Verifier implements JWSVerifier {
+
+        private final PublicKey publicKey;
+
+        private final JCAContext jcaContext = new JCAContext();
+
+        Verifier(PublicKey publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        @Override
+        public boolean verify(JWSHeader header, byte[] signingInput, Base64URL signature) throws JOSEException {
+            try {
+                Signature verifier = Signature.getInstance(ALGORITHM);
+                verifier.initVerify(this.publicKey);
+                verifier.update(signingInput);
+                return verifier.verify(signature.decode());
+            } catch (SignatureException e) {
+                return false;
+            } catch (GeneralSecurityException e) {
+                throw new JOSEException("Could not verify with Ed25519", e);
+            }
+        }
+
+        @Override
+        public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+            return Set.of(JWSAlgorithm.EdDSA);
+        }
+
+        @Override
+        public JCAContext getJCAContext() {
+            return this.jcaContext;
+        }
+    }
+}
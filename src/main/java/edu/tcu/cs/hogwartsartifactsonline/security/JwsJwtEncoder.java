@@ -0,0 +1,74 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Signs tokens with a single key, using the algorithm that key is for.
+ * <p>
+ * Unlike {@code NimbusJwtEncoder}, which defaults to RS256 and cannot sign with Ed25519 without
+ * Tink, the algorithm comes from the key, so callers need not pass a header.
+ */
+public class JwsJwtEncoder implements JwtEncoder {
+
+    private final JWSHeader header;
+
+    private final JWSSigner signer;
+
+    public JwsJwtEncoder(JWK signingKey) throws JOSEException {
+        this.header = new JWSHeader.Builder(JwsKeys.algorithmOf(signingKey))
+                .keyID(signingKey.getKeyID())
+                .build();
+        this.signer = JwsKeys.signerFor(signingKey);
+    }
+
+    public JWSAlgorithm algorithm() {
+        return this.header.getAlgorithm();
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        if (parameters.getJwsHeader() != null
+                && !this.header.getAlgorithm().getName().equals(parameters.getJwsHeader().getAlgorithm().getName())) {
+            throw new JwtEncodingException("The signing key is for %s, not %s".formatted(
+                    this.header.getAlgorithm(), parameters.getJwsHeader().getAlgorithm().getName()));
+        }
+        JwtClaimsSet claims = parameters.getClaims();
+        SignedJWT signedJwt = new SignedJWT(this.header, toJwtClaimsSet(claims));
+        try {
+            signedJwt.sign(this.signer);
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Could not sign the token", e);
+        }
+        return new Jwt(signedJwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(),
+                this.header.toJSONObject(), claims.getClaims());
+    }
+
+    private static JWTClaimsSet toJwtClaimsSet(JwtClaimsSet claims) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+        claims.getClaims().forEach((name, value) -> {
+            if (value instanceof Instant instant) {
+                builder.claim(name, Date.from(instant));
+            } else if (value instanceof URL url) {
+                builder.claim(name, url.toExternalForm());
+            } else {
+                builder.claim(name, value);
+            }
+        });
+        return builder.build();
+    }
+}
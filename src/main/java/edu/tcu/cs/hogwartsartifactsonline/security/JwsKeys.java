@@ -0,0 +1,129 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The JWS algorithms tokens can be signed with: RS256, ES256 and EdDSA (Ed25519). A key's
+ * algorithm follows from its type and curve, so keys of different algorithms can share one set.
+ */
+final class JwsKeys {
+
+    static final List<JWSAlgorithm> SUPPORTED_ALGORITHMS = List.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256, JWSAlgorithm.EdDSA);
+
+    private JwsKeys() {
+    }
+
+    static JWK generate(JWSAlgorithm algorithm) throws JOSEException {
+        String keyId = UUID.randomUUID().toString();
+        if (JWSAlgorithm.RS256.equals(algorithm)) {
+            return new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).keyID(keyId).generate();
+        }
+        if (JWSAlgorithm.ES256.equals(algorithm)) {
+            return new ECKeyGenerator(Curve.P_256).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).keyID(keyId).generate();
+        }
+        if (JWSAlgorithm.EdDSA.equals(algorithm)) {
+            return Ed25519.generate(keyId);
+        }
+        throw new IllegalArgumentException("Unsupported JWS algorithm %s, use one of %s".formatted(algorithm, SUPPORTED_ALGORITHMS));
+    }
+
+    static JWSAlgorithm algorithmOf(JWK jwk) {
+        if (jwk instanceof RSAKey) {
+            return JWSAlgorithm.RS256;
+        }
+        if (jwk instanceof ECKey ecKey && Curve.P_256.equals(ecKey.getCurve())) {
+            return JWSAlgorithm.ES256;
+        }
+        if (jwk instanceof OctetKeyPair okp && Curve.Ed25519.equals(okp.getCurve())) {
+            return JWSAlgorithm.EdDSA;
+        }
+        throw new IllegalArgumentException("Key %s is neither RSA, EC P-256 nor Ed25519".formatted(jwk.getKeyID()));
+    }
+
+    static JWSSigner signerFor(JWK jwk) throws JOSEException {
+        JWSAlgorithm algorithm = algorithmOf(jwk);
+        if (JWSAlgorithm.RS256.equals(algorithm)) {
+            return new RSASSASigner(jwk.toRSAKey());
+        }
+        if (JWSAlgorithm.ES256.equals(algorithm)) {
+            return new ECDSASigner(jwk.toECKey());
+        }
+        return new Ed25519.Signer(jwk.toOctetKeyPair());
+    }
+
+    /**
+     * A decoder that verifies tokens with the key in {@code verificationKeys} named by their
+     * {@code kid}, as long as the token's {@code alg} matches that key.
+     */
+    static JwtDecoder decoderFor(JWKSet verificationKeys) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(keySelector(verificationKeys));
+        jwtProcessor.setJWSVerifierFactory(new VerifierFactory());
+        // exp and nbf are checked by NimbusJwtDecoder's validator instead.
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
+    }
+
+    private static JWSKeySelector<SecurityContext> keySelector(JWKSet verificationKeys) {
+        return (header, context) -> {
+            JWK jwk = header.getKeyID() != null ? verificationKeys.getKeyByKeyId(header.getKeyID()) : null;
+            if (jwk == null || !algorithmOf(jwk).equals(header.getAlgorithm())) {
+                return List.of();
+            }
+            try {
+                return List.of(toPublicKey(jwk));
+            } catch (JOSEException e) {
+                throw new KeySourceException("Invalid verification key %s".formatted(jwk.getKeyID()), e);
+            }
+        };
+    }
+
+    private static PublicKey toPublicKey(JWK jwk) throws JOSEException {
+        if (jwk instanceof RSAKey rsaKey) {
+            return rsaKey.toPublicKey();
+        }
+        if (jwk instanceof ECKey ecKey) {
+            return ecKey.toPublicKey();
+        }
+        return Ed25519.toPublicKey(jwk.toOctetKeyPair());
+    }
+
+    private static class VerifierFactory extends DefaultJWSVerifierFactory {
+
+        @Override
+        public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+            if (JWSAlgorithm.EdDSA.equals(header.getAlgorithm()) && key instanceof PublicKey publicKey) {
+                return new Ed25519.Verifier(publicKey);
+            }
+            return super.createJWSVerifier(header, key);
+        }
+    }
+}
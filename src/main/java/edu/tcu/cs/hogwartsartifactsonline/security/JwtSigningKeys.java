@@ -0,0 +1,138 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.text.ParseException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The keys tokens are signed and verified with, read from the JWK set file at
+ * {@code security.jwt.jwk-set-location}.
+ * <p>
+ * Every key in the file can verify tokens, matched by the token's {@code kid}. New tokens are
+ * signed with {@code security.jwt.active-key-id}, or with the first private key when it is not
+ * set. To rotate, add a new key to the file, make it the active one, and drop the old key once
+ * the tokens it signed have expired. Nodes sharing the file accept each other's tokens.
+ * <p>
+ * Keys may be RSA (RS256), EC P-256 (ES256) or Ed25519 (EdDSA); each key signs with the algorithm
+ * its type implies. When the file does not exist and {@code security.jwt.generate-if-missing} is
+ * true, a single {@code security.jwt.algorithm} key is generated and written to it, so later
+ * starts reuse it.
+ * <p>
+ * Anyone who can read the file can mint tokens, and anyone who can write it can plant a key. On
+ * POSIX file systems the file must therefore be owned by the user the application runs as and
+ * must not be readable or writable by its group or others.
+ */
+@Component
+public class JwtSigningKeys {
+
+    private final JWKSet jwkSet;
+
+    private final JWK activeKey;
+
+    public JwtSigningKeys(@Value("${security.jwt.jwk-set-location}") Path location,
+                          @Value("${security.jwt.active-key-id:}") String activeKeyId,
+                          @Value("${security.jwt.generate-if-missing:true}") boolean generateIfMissing,
+                          @Value("${security.jwt.algorithm:RS256}") String algorithm) throws IOException, ParseException, JOSEException {
+        if (Files.notExists(location)) {
+            if (!generateIfMissing) {
+                throw new IllegalStateException("No JWK set found at %s".formatted(location));
+            }
+            write(location, new JWKSet(JwsKeys.generate(JWSAlgorithm.parse(algorithm))));
+        }
+        checkAccess(location);
+        this.jwkSet = JWKSet.load(location.toFile());
+        this.activeKey = selectActiveKey(this.jwkSet, activeKeyId, location);
+    }
+
+    /**
+     * The key new tokens are signed with, including its private part.
+     */
+    public JWK activeKey() {
+        return this.activeKey;
+    }
+
+    /**
+     * Every key tokens may have been signed with, public parts only.
+     */
+    public JWKSet verificationKeys() {
+        return this.jwkSet.toPublicJWKSet();
+    }
+
+    private static JWK selectActiveKey(JWKSet jwkSet, String activeKeyId, Path location) {
+        if (!StringUtils.hasText(activeKeyId)) {
+            return jwkSet.getKeys().stream()
+                    .filter(JWK::isPrivate)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("The JWK set at %s has no private key to sign with".formatted(location)));
+        }
+        JWK activeKey = jwkSet.getKeyByKeyId(activeKeyId);
+        if (activeKey == null || !activeKey.isPrivate()) {
+            throw new IllegalStateException("The JWK set at %s has no private key with kid %s".formatted(location, activeKeyId));
+        }
+        return activeKey;
+    }
+
+    private static void checkAccess(Path location) throws IOException {
+        if (!Files.getFileStore(location).supportsFileAttributeView("posix")) {
+            return;
+        }
+        Set<PosixFilePermission> shared = EnumSet.of(PosixFilePermission.GROUP_READ, PosixFilePermission.GROUP_WRITE,
+                PosixFilePermission.OTHERS_READ, PosixFilePermission.OTHERS_WRITE);
+        shared.retainAll(Files.getPosixFilePermissions(location));
+        if (!shared.isEmpty()) {
+            throw new IllegalStateException("The JWK set at %s must not be readable or writable by its group or others, but has %s"
+                    .formatted(location, shared));
+        }
+        UserPrincipal owner = Files.getOwner(location);
+        UserPrincipal applicationUser = currentUser();
+        if (!owner.equals(applicationUser)) {
+            throw new IllegalStateException("The JWK set at %s is owned by %s, not by %s, the user the application runs as"
+                    .formatted(location, owner.getName(), applicationUser.getName()));
+        }
+    }
+
+    // The owner of a file this process creates; user.name may not resolve in containers.
+    private static UserPrincipal currentUser() throws IOException {
+        Path probe = Files.createTempFile("jwks-owner", ".tmp");
+        try {
+            return Files.getOwner(probe);
+        } finally {
+            Files.delete(probe);
+        }
+    }
+
+    private static void write(Path location, JWKSet jwkSet) throws IOException {
+        Path directory = location.toAbsolutePath().getParent();
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(directory);
+        }
+        Path temp = Files.createTempFile(directory, location.getFileName().toString(), ".tmp");
+        try {
+            if (Files.getFileStore(temp).supportsFileAttributeView("posix")) {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }
+            Files.writeString(temp, jwkSet.toString(false), StandardCharsets.UTF_8);
+            Files.move(temp, location, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
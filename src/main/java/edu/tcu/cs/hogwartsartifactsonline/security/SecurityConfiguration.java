@@ -1,14 +1,13 @@
 package edu.tcu.cs.hogwartsartifactsonline.security;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.JOSEException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,26 +18,18 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 @Configuration
 public class SecurityConfiguration {
 
-    private final RSAPublicKey publicKey;
-
-    private final RSAPrivateKey privateKey;
+    private final JwtSigningKeys jwtSigningKeys;
 
     private final CustomBasicAuthenticationEntryPoint customBasicAuthenticationEntryPoint;
 
@@ -49,17 +40,43 @@ public class SecurityConfiguration {
     @Value("${api.endpoint.base-url}")
     private String BASE_URL;
 
-    public SecurityConfiguration(CustomBasicAuthenticationEntryPoint customBasicAuthenticationEntryPoint, CustomBearerTokenAuthenticationEntryPoint customBearerTokenAuthenticationEntryPoint, CustomBearerTokenAccessDeniedHandler customBearerTokenAccessDeniedHandler) throws NoSuchAlgorithmException {
+    @Value("${security.jwt-cache.enabled:true}")
+    private boolean jwtCacheEnabled;
+
+    @Value("${security.jwt-cache.maximum-size:10000}")
+    private long jwtCacheMaximumSize;
+
+    @Value("${security.jwt-cache.max-time-to-live:2h}")
+    private Duration jwtCacheMaxTimeToLive;
+
+    public SecurityConfiguration(CustomBasicAuthenticationEntryPoint customBasicAuthenticationEntryPoint, CustomBearerTokenAuthenticationEntryPoint customBearerTokenAuthenticationEntryPoint, CustomBearerTokenAccessDeniedHandler customBearerTokenAccessDeniedHandler, JwtSigningKeys jwtSigningKeys) {
         this.customBasicAuthenticationEntryPoint = customBasicAuthenticationEntryPoint;
         this.customBearerTokenAuthenticationEntryPoint = customBearerTokenAuthenticationEntryPoint;
         this.customBearerTokenAccessDeniedHandler = customBearerTokenAccessDeniedHandler;
+        this.jwtSigningKeys = jwtSigningKeys;
+    }
 
-        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-        keyPairGenerator.initialize(2048); // size 2048 bits
-        KeyPair keyPair = keyPairGenerator.generateKeyPair();
-
-        this.publicKey = (RSAPublicKey) keyPair.getPublic();
-        this.privateKey = (RSAPrivateKey) keyPair.getPrivate();
+    /**
+     * Actuator endpoints, served on management.server.port. Probes and Prometheus scrapes need no
+     * credentials, so that port must only be reachable from inside the deployment; the other
+     * endpoints, such as metrics, need an admin.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                        .anyRequest().hasAuthority("ROLE_admin")
+                )
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(httpBasic -> httpBasic.authenticationEntryPoint(this.customBasicAuthenticationEntryPoint))
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults())
+                        .authenticationEntryPoint(this.customBearerTokenAuthenticationEntryPoint)
+                        .accessDeniedHandler(this.customBearerTokenAccessDeniedHandler))
+                .sessionManagement(sessionManagement -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
     }
 
     @Bean
@@ -67,6 +84,7 @@ public class SecurityConfiguration {
         return http
                 //.csrf(csrf -> csrf.ignoringRequestMatchers(toH2Console()).disable()) // -> In case of csrf was not disable
                 .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
+                        .requestMatchers(HttpMethod.GET, this.BASE_URL + "/artifacts/export").authenticated() // Whole-catalog dumps are not for anonymous clients.
                         .requestMatchers(HttpMethod.GET, this.BASE_URL + "/artifacts/**").permitAll()
                         .requestMatchers(HttpMethod.POST, this.BASE_URL + "/artifacts/search").permitAll()
                         .requestMatchers(HttpMethod.GET, this.BASE_URL + "/users/**").hasAuthority("ROLE_admin")
@@ -93,15 +111,19 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(this.publicKey).privateKey(this.privateKey).build();
-        JWKSource<SecurityContext> jwkSet = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwkSet);
+    public JwtEncoder jwtEncoder() throws JOSEException {
+        // Signs with the active key's algorithm and puts its kid into the header.
+        return new JwsJwtEncoder(this.jwtSigningKeys.activeKey());
     }
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(this.publicKey).build();
+        // The verification key is picked by the token's kid.
+        JwtDecoder jwtDecoder = JwsKeys.decoderFor(this.jwtSigningKeys.verificationKeys());
+        if (!this.jwtCacheEnabled) {
+            return jwtDecoder;
+        }
+        return new CachingJwtDecoder(jwtDecoder, this.jwtCacheMaxTimeToLive, this.jwtCacheMaximumSize);
     }
 
     @Bean
@@ -112,7 +134,12 @@ public class SecurityConfiguration {
         jwtGrantedAuthoritiesConverter.setAuthorityPrefix(""); // By default prefix is SCOPE_
 
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter);
+        if (this.jwtCacheEnabled) {
+            jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(
+                    new CachingGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter, this.jwtCacheMaximumSize));
+        } else {
+            jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter);
+        }
 
         return jwtAuthenticationConverter;
     }
@@ -0,0 +1,16 @@
+package edu.tcu.cs.hogwartsartifactsonline.system;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated listing. {@code nextCursor} is an opaque token the
+ * client sends back to fetch the following page; it is null on the last page.
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+        List<R> converted = this.content.stream().<R>map(converter).toList();
+        return new CursorPage<>(converted, this.size, this.hasNext, this.nextCursor);
+    }
+}
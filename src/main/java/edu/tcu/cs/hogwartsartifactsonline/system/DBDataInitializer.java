@@ -59,15 +59,15 @@ public class DBDataInitializer implements CommandLineRunner {
                 "The Resurrection Stone",
                 "The Resurrection Stone was said to be the only object that would bring back the spirits of the holder's deceased loved ones", "imageUrl");
 
-        var w1 = generateWizard(1, "Albus Dumbledore");
+        var w1 = generateWizard("Albus Dumbledore");
         w1.addArtifact(a1);
         w1.addArtifact(a3);
 
-        var w2 = generateWizard(2, "Harry Potter");
+        var w2 = generateWizard("Harry Potter");
         w2.addArtifact(a2);
         w2.addArtifact(a4);
 
-        var w3 = generateWizard(3, "Nevile Longbottom");
+        var w3 = generateWizard("Nevile Longbottom");
         w3.addArtifact(a5);
 
         wizardRepository.save(w1);
@@ -94,9 +94,10 @@ public class DBDataInitializer implements CommandLineRunner {
         return a;
     }
 
-    private static Wizard generateWizard(Integer id, String name) {
+    // No id: the identity column assigns 1, 2, 3, and a versioned wizard with an id would be
+    // treated as detached by save.
+    private static Wizard generateWizard(String name) {
         var w = new Wizard();
-        w.setId(id);
         w.setName(name);
         return w;
     }
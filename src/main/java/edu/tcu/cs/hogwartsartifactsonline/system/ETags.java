@@ -0,0 +1,99 @@
+package edu.tcu.cs.hogwartsartifactsonline.system;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.Artifact;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.VersionedArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.VersionedWizardDto;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
+
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong ETags for single entities, built from their {@code @Version}s. A wizard's representation
+ * shows its number of artifacts, and an artifact's shows its owner, so those are part of the tag.
+ * Reads build the tag from the same projection as the body; writes from the saved entity.
+ * <p>
+ * An {@code If-Match} on a write is checked against the entity's own version only, the first
+ * number of its tag: a write conflicts with other writes to the same row, not with changes to the
+ * owner or the artifact count that the representation also shows.
+ */
+public final class ETags {
+
+    private static final Pattern ARTIFACT_TAG = Pattern.compile("\"(\\d+)(?:\\.\\d+v\\d+n\\d+)?\"");
+
+    private static final Pattern WIZARD_TAG = Pattern.compile("\"(\\d+)v(\\d+)n\\d+\"");
+
+    private ETags() {
+    }
+
+    public static String of(Artifact artifact) {
+        Wizard owner = artifact.getOwner();
+        return quote(artifact.getVersion() + (owner != null ? "." + tag(owner) : ""));
+    }
+
+    public static String of(VersionedArtifactDto artifact) {
+        WizardDto owner = artifact.artifact().owner();
+        return quote(artifact.version() + (owner != null
+                ? "." + tag(owner.id(), artifact.ownerVersion(), owner.numberOfArtifacts())
+                : ""));
+    }
+
+    public static String of(Wizard wizard) {
+        return quote(tag(wizard));
+    }
+
+    public static String of(VersionedWizardDto wizard) {
+        return quote(tag(wizard.wizard().id(), wizard.version(), wizard.wizard().numberOfArtifacts()));
+    }
+
+    /**
+     * Returns the artifact version that {@code ifMatch} names, or null when there is no
+     * precondition: no header, or {@code *}. A tag that cannot be current, such as a weak one or a
+     * list, fails the precondition.
+     */
+    public static Integer artifactVersion(String artifactId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Matcher matcher = ARTIFACT_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("Artifact", artifactId);
+        }
+        return parseVersion(matcher.group(1), () -> new PreconditionFailedException("Artifact", artifactId));
+    }
+
+    // As artifactVersion; the tag must also belong to this wizard.
+    public static Integer wizardVersion(Integer wizardId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Matcher matcher = WIZARD_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches() || !matcher.group(1).equals(String.valueOf(wizardId))) {
+            throw new PreconditionFailedException("Wizard", wizardId);
+        }
+        return parseVersion(matcher.group(2), () -> new PreconditionFailedException("Wizard", wizardId));
+    }
+
+    private static Integer parseVersion(String version, Supplier<PreconditionFailedException> failure) {
+        try {
+            return Integer.valueOf(version);
+        } catch (NumberFormatException ex) {
+            throw failure.get();
+        }
+    }
+
+    private static String tag(Wizard wizard) {
+        return tag(wizard.getId(), wizard.getVersion(), wizard.getNumberOfArtifacts());
+    }
+
+    private static String tag(Integer wizardId, Integer version, Integer numberOfArtifacts) {
+        return wizardId + "v" + version + "n" + numberOfArtifacts;
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
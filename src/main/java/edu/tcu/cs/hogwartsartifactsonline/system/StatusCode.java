@@ -12,6 +12,14 @@ public class StatusCode {
 
     public static final int NOT_FOUND = 404; // Not found
 
+    public static final int CONFLICT = 409; // Modified concurrently, retry
+
+    public static final int PRECONDITION_FAILED = 412; // If-Match does not name the current version
+
+    public static final int TOO_MANY_REQUESTS = 429; // Too many requests in progress, retry later
+
     public static final int INTERNAL_SERVER_ERROR = 500; // Server internal error
 
+    public static final int SERVICE_UNAVAILABLE = 503; // Server busy or timed out
+
 }
@@ -0,0 +1,56 @@
+package edu.tcu.cs.hogwartsartifactsonline.system;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts writes per entity in the {@code table_change} table, so collection endpoints can derive an
+ * ETag from one tiny read instead of querying the collection.
+ * <p>
+ * A count is bumped by the writing transaction itself, so it commits or rolls back with the write
+ * and every instance reads the same committed value. Read the ETag before the data it covers: the
+ * tag can then be older than the body, but never newer. The bump holds the counter row's lock until
+ * commit, so writes to the same entity type are serialized on it.
+ */
+@Component
+public class TableChangeCounter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TableChangeCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void changed(Class<?> entityType) {
+        this.jdbcTemplate.update("update table_change set change_count = change_count + 1 where entity_name = ?",
+                entityType.getSimpleName());
+    }
+
+    /**
+     * Returns the committed change count of {@code entityType}, or this transaction's own once it
+     * has bumped it.
+     */
+    public long changeCount(Class<?> entityType) {
+        Long count = this.jdbcTemplate.queryForObject("select change_count from table_change where entity_name = ?",
+                Long.class, entityType.getSimpleName());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Returns a strong ETag that changes whenever one of {@code entityTypes} is written.
+     */
+    public String eTag(Class<?>... entityTypes) {
+        Map<String, Long> counts = new HashMap<>();
+        this.jdbcTemplate.query("select entity_name, change_count from table_change",
+                (RowCallbackHandler) row -> counts.put(row.getString(1), row.getLong(2)));
+        return Arrays.stream(entityTypes)
+                .map(entityType -> Long.toString(counts.getOrDefault(entityType.getSimpleName(), 0L)))
+                .collect(Collectors.joining(".", "\"", "\""));
+    }
+}
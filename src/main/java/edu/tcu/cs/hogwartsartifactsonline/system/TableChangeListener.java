@@ -0,0 +1,26 @@
+package edu.tcu.cs.hogwartsartifactsonline.system;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener that reports every insert, update and delete to the {@link TableChangeCounter}.
+ * Bulk JPQL statements bypass it and must call the counter themselves.
+ */
+public class TableChangeListener {
+
+    private final ObjectProvider<TableChangeCounter> tableChangeCounter;
+
+    public TableChangeListener(ObjectProvider<TableChangeCounter> tableChangeCounter) {
+        this.tableChangeCounter = tableChangeCounter;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        this.tableChangeCounter.ifAvailable(counter -> counter.changed(entity.getClass()));
+    }
+}
@@ -0,0 +1,10 @@
+package edu.tcu.cs.hogwartsartifactsonline.system.exception;
+
+import java.time.Duration;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String upstream, Duration retryIn) {
+        super("%s is unavailable, try again in %d seconds.".formatted(upstream, Math.max(1, retryIn.toSeconds())));
+    }
+}
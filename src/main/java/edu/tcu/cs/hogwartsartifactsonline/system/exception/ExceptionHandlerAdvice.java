@@ -7,6 +7,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AccountStatusException;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +39,49 @@ public class ExceptionHandlerAdvice {
         return new Result(false, StatusCode.NOT_FOUND, ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    Result handleInvalidCursorException(InvalidCursorException ex){
+        return new Result(false, StatusCode.INVALID_ARGUMENT, ex.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    Result handleUnsupportedExportFormatException(UnsupportedExportFormatException ex){
+        return new Result(false, StatusCode.INVALID_ARGUMENT, ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    Result handlePreconditionFailedException(PreconditionFailedException ex){
+        return new Result(false, StatusCode.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    // An unconditional write lost a race with another one between its load and its versioned UPDATE.
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    Result handleObjectOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex){
+        return new Result(false, StatusCode.CONFLICT, "The object was modified concurrently, try again.");
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    Result handleTooManyRequestsException(TooManyRequestsException ex){
+        return new Result(false, StatusCode.TOO_MANY_REQUESTS, ex.getMessage());
+    }
+
+    @ExceptionHandler(CircuitBreakerOpenException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    Result handleCircuitBreakerOpenException(CircuitBreakerOpenException ex){
+        return new Result(false, StatusCode.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    Result handleAsyncRequestTimeoutException(AsyncRequestTimeoutException ex){
+        return new Result(false, StatusCode.SERVICE_UNAVAILABLE, "The request timed out, try again later.");
+    }
+
     /**
      * Handles invalid inputs
      *
@@ -63,6 +108,12 @@ public class ExceptionHandlerAdvice {
                 map);
     }
 
+    @ExceptionHandler(InvalidPatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    Result handleInvalidPatchException(InvalidPatchException ex) {
+        return new Result(false, StatusCode.INVALID_ARGUMENT, ex.getMessage(), ex.getErrors());
+    }
+
     @ExceptionHandler(InsufficientAuthenticationException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     Result handleInsufficientAuthenticationException(InsufficientAuthenticationException ex){
@@ -0,0 +1,7 @@
+package edu.tcu.cs.hogwartsartifactsonline.system.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package edu.tcu.cs.hogwartsartifactsonline.system.exception;
+
+import java.util.Map;
+
+public class InvalidPatchException extends RuntimeException {
+
+    private final Map<String, String> errors;
+
+    public InvalidPatchException(Map<String, String> errors) {
+        super("Provided arguments are invalid, see data for details");
+        this.errors = errors;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
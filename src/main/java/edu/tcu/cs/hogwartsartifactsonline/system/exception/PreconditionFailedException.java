@@ -0,0 +1,12 @@
+package edu.tcu.cs.hogwartsartifactsonline.system.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String objectName, String id) {
+        super("%s with Id %s has been modified since it was read, fetch it again and retry".formatted(objectName, id));
+    }
+
+    public PreconditionFailedException(String objectName, Integer id) {
+        super("%s with Id %d has been modified since it was read, fetch it again and retry".formatted(objectName, id));
+    }
+}
@@ -0,0 +1,8 @@
+package edu.tcu.cs.hogwartsartifactsonline.system.exception;
+
+public class UnsupportedExportFormatException extends RuntimeException {
+
+    public UnsupportedExportFormatException(String format) {
+        super("Export format %s is not supported, use ndjson or csv.".formatted(format));
+    }
+}
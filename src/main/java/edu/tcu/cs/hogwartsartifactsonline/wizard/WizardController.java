@@ -1,12 +1,19 @@
 package edu.tcu.cs.hogwartsartifactsonline.wizard;
 
+import edu.tcu.cs.hogwartsartifactsonline.artifact.Artifact;
+import edu.tcu.cs.hogwartsartifactsonline.system.ETags;
 import edu.tcu.cs.hogwartsartifactsonline.system.Result;
 import edu.tcu.cs.hogwartsartifactsonline.system.StatusCode;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeCounter;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.converter.WizardDtoToWizardConverter;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.converter.WizardToWizardDtoConverter;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Objects;
 import java.util.List;
@@ -22,23 +29,35 @@ public class WizardController {
 
     private final WizardToWizardDtoConverter wizardToWizardDtoConverter;
 
-    public WizardController(WizardService wizardService, WizardDtoToWizardConverter wizardDtoToWizardConverter, WizardToWizardDtoConverter wizardToWizardDtoConverter){
+    private final TableChangeCounter tableChangeCounter;
+
+    public WizardController(WizardService wizardService, WizardDtoToWizardConverter wizardDtoToWizardConverter, WizardToWizardDtoConverter wizardToWizardDtoConverter, TableChangeCounter tableChangeCounter){
         this.wizardService = wizardService;
         this.wizardDtoToWizardConverter = wizardDtoToWizardConverter;
         this.wizardToWizardDtoConverter = wizardToWizardDtoConverter;
+        this.tableChangeCounter = tableChangeCounter;
     }
 
+    // The wizard is read from the entity cache and its artifacts counted, giving both the body and the ETag.
+    // Only authenticated users see wizards, so only their own cache may keep one, revalidating it with If-None-Match.
     @GetMapping("/{wizardId}")
-    public Result findWizardById(@PathVariable Integer wizardId) {
-        var wizard = this.wizardService.findById(wizardId);
-        var wizardDto = wizardToWizardDtoConverter.convert(wizard);
-        return new Result(true, StatusCode.SUCCESS,"Find one success", wizardDto);
+    public Result findWizardById(@PathVariable Integer wizardId, WebRequest webRequest, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        var wizard = this.wizardService.findWithArtifactCountById(wizardId);
+        if (webRequest.checkNotModified(ETags.of(wizard))) {
+            return null;
+        }
+        return new Result(true, StatusCode.SUCCESS,"Find one success", wizard.wizard());
     }
 
+    // The ETag changes with any artifact or wizard write; a 304 only reads the change counts.
     @GetMapping
-    public Result findAllWizards() {
-        var wizardsList = this.wizardService.findAll();
-        var wizardsListDto = wizardsList.stream().map(wizardToWizardDtoConverter::convert);
+    public Result findAllWizards(WebRequest webRequest, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(this.tableChangeCounter.eTag(Artifact.class, Wizard.class))) {
+            return null;
+        }
+        var wizardsListDto = this.wizardService.findAllWithArtifactCount();
         return new Result(true, StatusCode.SUCCESS, "Find all success", wizardsListDto);
     }
 
@@ -50,16 +69,22 @@ public class WizardController {
         return new Result(true, StatusCode.SUCCESS, "Add success", savedWizardDto);
     }
 
+    // If-Match, when sent, must name the wizard's current ETag; a stale one gets 412 and nothing is written.
     @PutMapping("/{wizardId}")
-    public Result updateWizard(@PathVariable Integer wizardId, @Valid @RequestBody WizardDto update) {
-        var updatedWizard = this.wizardService.update(wizardId, Objects.requireNonNull(wizardDtoToWizardConverter.convert(update)));
+    public Result updateWizard(@PathVariable Integer wizardId, @Valid @RequestBody WizardDto update,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                               HttpServletResponse response) {
+        var updatedWizard = this.wizardService.update(wizardId, Objects.requireNonNull(wizardDtoToWizardConverter.convert(update)),
+                ETags.wizardVersion(wizardId, ifMatch));
+        response.setHeader(HttpHeaders.ETAG, ETags.of(updatedWizard));
         var updatedWizardDto = wizardToWizardDtoConverter.convert(updatedWizard);
         return new Result(true, StatusCode.SUCCESS, "Update success", updatedWizardDto);
     }
 
     @DeleteMapping("/{wizardId}")
-    public Result deleteWizard(@PathVariable Integer wizardId) {
-        this.wizardService.delete(wizardId);
+    public Result deleteWizard(@PathVariable Integer wizardId,
+                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        this.wizardService.delete(wizardId, ETags.wizardVersion(wizardId, ifMatch));
         return new Result(true, StatusCode.SUCCESS, "Delete success");
     }
 
@@ -1,9 +1,18 @@
 package edu.tcu.cs.hogwartsartifactsonline.wizard;
 
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 
 public interface WizardRepository extends JpaRepository<Wizard, Integer> {
+
+    // Counts artifacts with one grouped query instead of initializing every artifacts collection.
+    @Query("select new edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto(w.id, w.name, cast(count(a) as Integer)) " +
+            "from Wizard w left join w.artifacts a group by w.id, w.name order by w.id")
+    List<WizardDto> findAllWithArtifactCount();
 }
@@ -5,11 +5,14 @@ import edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactRepository;
 import edu.tcu.cs.hogwartsartifactsonline.system.Result;
 import edu.tcu.cs.hogwartsartifactsonline.system.StatusCode;
 import edu.tcu.cs.hogwartsartifactsonline.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.converter.WizardDtoToWizardConverter;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.converter.WizardToWizardDtoConverter;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.VersionedWizardDto;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
 
@@ -38,22 +41,66 @@ public class WizardService {
                 .orElseThrow(() -> new ObjectNotFoundException("wizard",wizardId));
     }
 
+    public List<WizardDto> findAllWithArtifactCount(){
+        return this.wizardRepository.findAllWithArtifactCount();
+    }
+
+    // The wizard comes from the second-level cache; its artifacts are counted, never loaded.
+    public VersionedWizardDto findWithArtifactCountById(Integer wizardId){
+        Wizard wizard = findById(wizardId);
+        return new VersionedWizardDto(wizard.getId(), wizard.getName(),
+                Math.toIntExact(this.artifactRepository.countByOwnerId(wizardId)), wizard.getVersion());
+    }
+
     public Wizard save(Wizard newWizard){
         return this.wizardRepository.save(newWizard);
     }
 
     public Wizard update(Integer wizardId, Wizard update){
-        var oldWizard = this.findById(wizardId);
-        oldWizard.setName(update.getName());
-        return this.wizardRepository.save(oldWizard);
+        return update(wizardId, update, null);
+    }
+
+    // As for artifacts: the usually cached wizard is checked against If-Match, and saving it issues
+    // the versioned UPDATE, which evicts only this wizard from the second-level cache.
+    public Wizard update(Integer wizardId, Wizard update, Integer expectedVersion){
+        Wizard wizard = this.findById(wizardId);
+        checkVersion(wizard, expectedVersion);
+        wizard.setName(update.getName());
+        Wizard savedWizard = this.wizardRepository.save(wizard);
+        flush(wizardId, expectedVersion);
+        return savedWizard;
     }
 
     public void delete(Integer wizardId){
+        delete(wizardId, null);
+    }
+
+    public void delete(Integer wizardId, Integer expectedVersion){
         Wizard wizardToBeDeleted = this.wizardRepository.findById(wizardId)
                 .orElseThrow(()->new ObjectNotFoundException("wizard", wizardId));
+        checkVersion(wizardToBeDeleted, expectedVersion);
 
         wizardToBeDeleted.removeAllArtifact();
         this.wizardRepository.deleteById(wizardId);
+        flush(wizardId, expectedVersion);
+    }
+
+    // With If-Match, writes now, so a write racing past the version check also answers 412 rather than 409 at commit.
+    private void flush(Integer wizardId, Integer expectedVersion) {
+        if (expectedVersion == null) {
+            return;
+        }
+        try {
+            this.wizardRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("Wizard", wizardId);
+        }
+    }
+
+    private static void checkVersion(Wizard wizard, Integer expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(wizard.getVersion())) {
+            throw new PreconditionFailedException("Wizard", wizard.getId());
+        }
     }
 
     public void assignArtifact(Integer wizardId, String artifactId){
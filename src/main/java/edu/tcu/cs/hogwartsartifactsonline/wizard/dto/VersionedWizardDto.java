@@ -0,0 +1,12 @@
+package edu.tcu.cs.hogwartsartifactsonline.wizard.dto;
+
+/**
+ * A {@link WizardDto} with the wizard's {@code @Version}, which its ETag needs but the API does not show.
+ */
+public record VersionedWizardDto(WizardDto wizard, Integer version) {
+
+    // Called by the JPQL constructor expression, which cannot nest.
+    public VersionedWizardDto(Integer id, String name, Integer numberOfArtifacts, Integer version) {
+        this(new WizardDto(id, name, numberOfArtifacts), version);
+    }
+}
@@ -0,0 +1,27 @@
+-- The schema Hibernate generated before migrations were introduced. Existing databases are
+-- baselined at this version instead of running it.
+create table wizard (
+    id integer generated by default as identity,
+    name varchar(255),
+    primary key (id)
+);
+
+create table artifact (
+    id varchar(255) not null,
+    name varchar(255),
+    description varchar(255),
+    image_url varchar(255),
+    owner_id integer,
+    primary key (id)
+);
+
+create table hogwarts_user (
+    id integer generated by default as identity,
+    username varchar(255),
+    password varchar(255),
+    enable boolean not null,
+    roles varchar(255),
+    primary key (id)
+);
+
+alter table artifact add constraint fk_artifact_owner foreign key (owner_id) references wizard (id);
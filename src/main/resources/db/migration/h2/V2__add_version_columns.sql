@@ -0,0 +1,3 @@
+-- Optimistic locking and ETags: the @Version of Artifact and Wizard.
+alter table artifact add column version integer default 0 not null;
+alter table wizard add column version integer default 0 not null;
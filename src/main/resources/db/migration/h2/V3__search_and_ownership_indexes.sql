@@ -0,0 +1,14 @@
+-- Owner joins, the per-owner artifact count and ArtifactSpecs.hasOwnerName. The foreign key is
+-- re-created so that it uses this index instead of keeping the one H2 made for it.
+create index idx_artifact_owner_id on artifact (owner_id);
+alter table artifact drop constraint fk_artifact_owner;
+alter table artifact add constraint fk_artifact_owner foreign key (owner_id) references wizard (id);
+
+-- Keyset pages ordered by name seek on (name, id). The LIKE '%...%' searches cannot use a
+-- B-tree index at all; the n-gram index narrows those down instead.
+create index idx_artifact_name_id on artifact (name, id);
+
+-- UserRepository.findByUsername, on every Basic login.
+alter table hogwarts_user add constraint uk_hogwarts_user_username unique (username);
+
+-- H2 cannot index lower(wizard.name), which hasOwnerName compares; see the MySQL migration.
@@ -0,0 +1,9 @@
+-- One write counter per entity, bumped in the same transaction as the write, so every instance
+-- derives the same collection ETag from the committed state.
+create table table_change (
+    entity_name varchar(64) not null,
+    change_count bigint not null,
+    primary key (entity_name)
+);
+
+insert into table_change (entity_name, change_count) values ('Artifact', 0), ('Wizard', 0);
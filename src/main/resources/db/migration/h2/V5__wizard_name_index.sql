@@ -0,0 +1,3 @@
+-- ArtifactSpecs.hasOwnerName compares lower(name), which H2 cannot index. The filter still reads
+-- this narrower index instead of the wizard table; MySQL has idx_wizard_name_lower from V3.
+create index idx_wizard_name on wizard (name);
@@ -0,0 +1,27 @@
+-- The schema Hibernate generated before migrations were introduced. Existing databases are
+-- baselined at this version instead of running it.
+create table wizard (
+    id integer not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table artifact (
+    id varchar(255) not null,
+    name varchar(255),
+    description varchar(255),
+    image_url varchar(255),
+    owner_id integer,
+    primary key (id)
+) engine=InnoDB;
+
+create table hogwarts_user (
+    id integer not null auto_increment,
+    username varchar(255),
+    password varchar(255),
+    enable bit not null,
+    roles varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table artifact add constraint fk_artifact_owner foreign key (owner_id) references wizard (id);
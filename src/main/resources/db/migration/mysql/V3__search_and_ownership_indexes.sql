@@ -0,0 +1,13 @@
+-- Owner joins, the per-owner artifact count and ArtifactSpecs.hasOwnerName. InnoDB drops the
+-- index it created implicitly for fk_artifact_owner, as this one can serve the constraint.
+create index idx_artifact_owner_id on artifact (owner_id);
+
+-- Keyset pages ordered by name seek on (name, id). The LIKE '%...%' searches cannot use a
+-- B-tree index at all; the n-gram index narrows those down instead.
+create index idx_artifact_name_id on artifact (name, id);
+
+-- ArtifactSpecs.hasOwnerName compares lower(name); a functional key part (MySQL 8.0.13+) matches it.
+create index idx_wizard_name_lower on wizard ((lower(name)));
+
+-- UserRepository.findByUsername, on every Basic login.
+alter table hogwarts_user add constraint uk_hogwarts_user_username unique (username);
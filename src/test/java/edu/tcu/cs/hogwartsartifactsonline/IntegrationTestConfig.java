@@ -5,7 +5,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+// Each context migrates and seeds its own database; with Flyway nothing drops a schema another context left behind.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
 @AutoConfigureMockMvc
 @Tag("integration")
 @ActiveProfiles("dev")
@@ -0,0 +1,59 @@
+package edu.tcu.cs.hogwartsartifactsonline;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scrapes the management port the way Prometheus would, after one API call, and checks the
+ * latency histograms and the pool and Hibernate gauges are all there. Spring Boot tests disable
+ * metrics export unless asked, hence {@code @AutoConfigureObservability}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"management.server.port=0", "spring.datasource.url=jdbc:h2:mem:${random.uuid}"})
+@AutoConfigureObservability(tracing = false)
+@Tag("integration")
+@ActiveProfiles("dev")
+class ManagementEndpointsIntegrationTest {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Test
+    void testPrometheusScrapeNeedsNoCredentials() {
+        this.restTemplate.getForEntity("/api/v1/artifacts", String.class);
+
+        ResponseEntity<String> scrape = this.restTemplate.getForEntity(management("/actuator/prometheus"), String.class);
+
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket")
+                .contains("spring_data_repository_invocations_seconds_bucket")
+                .contains("hikaricp_connections")
+                .contains("hibernate_statements")
+                .contains("id_worker_wait_seconds");
+    }
+
+    @Test
+    void testOtherEndpointsNeedAnAdmin() {
+        ResponseEntity<String> metrics = this.restTemplate.getForEntity(management("/actuator/metrics"), String.class);
+
+        assertThat(metrics.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private String management(String path) {
+        return "http://localhost:" + this.managementPort + path;
+    }
+}
@@ -0,0 +1,129 @@
+package edu.tcu.cs.hogwartsartifactsonline;
+
+import edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactCursor;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactSpecs;
+import edu.tcu.cs.hogwartsartifactsonline.hogwartsuser.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the migrations ran and that the statements Hibernate generates for the indexed
+ * lookups are planned as index seeks. The statements are captured as they run and explained with
+ * the same parameters; {@code EXPLAIN} works the same on MySQL, only the plan format differs.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "edu.tcu.cs.hogwartsartifactsonline.SchemaMigrationIntegrationTest$RecordingStatementInspector")
+class SchemaMigrationIntegrationTest extends IntegrationTestConfig {
+
+    @Autowired
+    Flyway flyway;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ArtifactRepository artifactRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void testAllMigrationsApplied() {
+        assertThat(this.flyway.info().pending()).isEmpty();
+        assertThat(this.flyway.info().current().getVersion().getVersion()).isEqualTo("5");
+    }
+
+    @Test
+    void testArtifactsByOwnerNameUseOwnerAndWizardNameIndexes() {
+        String sql = generated(() -> this.artifactRepository.findDtos(ArtifactSpecs.hasOwnerName("Albus Dumbledore"), Sort.unsorted(), 10));
+
+        String plan = explain(sql, "albus dumbledore", 10);
+
+        assertThat(plan).contains("IDX_ARTIFACT_OWNER_ID", "IDX_WIZARD_NAME").doesNotContain("tableScan");
+    }
+
+    @Test
+    void testArtifactCountByOwnerNameUsesOwnerAndWizardNameIndexes() {
+        String sql = generated(() -> this.artifactRepository.count(ArtifactSpecs.hasOwnerName("Albus Dumbledore")));
+
+        String plan = explain(sql, "albus dumbledore");
+
+        assertThat(plan).contains("IDX_ARTIFACT_OWNER_ID", "IDX_WIZARD_NAME").doesNotContain("tableScan");
+    }
+
+    @Test
+    void testArtifactCountByOwnerIdUsesOwnerIndexWithoutJoin() {
+        String sql = generated(() -> this.artifactRepository.countByOwnerId(1));
+
+        String plan = explain(sql, 1);
+
+        assertThat(plan).contains("IDX_ARTIFACT_OWNER_ID").doesNotContain("tableScan", "WIZARD");
+    }
+
+    @Test
+    void testKeysetPageByNameUsesNameIndex() {
+        ArtifactCursor cursor = new ArtifactCursor("name", Sort.Direction.ASC, "Deluminator", "1250808601744904191");
+        String sql = generated(() -> this.artifactRepository.findDtos(ArtifactSpecs.isAfter(cursor), Sort.by("name", "id"), 3));
+
+        String plan = explain(sql, "Deluminator", "Deluminator", "1250808601744904191", 3);
+
+        assertThat(plan).contains("IDX_ARTIFACT_NAME_ID").doesNotContain("tableScan");
+    }
+
+    @Test
+    void testUserByUsernameUsesUniqueIndex() {
+        String sql = generated(() -> this.userRepository.findByUsername("john"));
+
+        String plan = explain(sql, "john");
+
+        assertThat(plan).contains("UK_HOGWARTS_USER_USERNAME").doesNotContain("tableScan");
+    }
+
+    private static String generated(Runnable call) {
+        List<String> statements = RecordingStatementInspector.record(call);
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return this.jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+    }
+
+    /**
+     * Records the SQL Hibernate prepares on the calling thread while {@link #record} runs.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        static List<String> record(Runnable call) {
+            statements.set(new ArrayList<>());
+            try {
+                call.run();
+                return statements.get();
+            } finally {
+                statements.remove();
+            }
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> recorded = statements.get();
+            if (recorded != null) {
+                recorded.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.IntegrationTestConfig;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactPatch;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.WizardRepository;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.WizardService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that reads are served from the second-level cache and that the write paths of
+ * {@link ArtifactService} and {@link WizardService} never leave stale entries behind.
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ArtifactCacheIntegrationTest extends IntegrationTestConfig {
+
+    @Autowired
+    ArtifactService artifactService;
+
+    @Autowired
+    WizardService wizardService;
+
+    @Autowired
+    WizardRepository wizardRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testFindArtifactByIdHitsCache() {
+        this.artifactService.findById("123451");
+        this.statistics.clear();
+
+        Artifact artifact = this.artifactService.findById("123451");
+
+        assertThat(artifact.getName()).isEqualTo("Deluminator");
+        assertThat(artifact.getOwner().getName()).isEqualTo("Albus Dumbledore");
+        assertThat(this.statistics.getPrepareStatementCount()).isZero();
+        assertThat(this.statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void testUpdateArtifactRefreshesCache() {
+        this.artifactService.findById("123451");
+        Artifact update = new Artifact();
+        update.setName("Deluminator - update");
+        update.setDescription("A new description");
+        update.setImageUrl("imageUrl");
+
+        this.artifactService.update("123451", update);
+
+        assertThat(this.artifactService.findById("123451").getName()).isEqualTo("Deluminator - update");
+    }
+
+    @Test
+    void testPatchArtifactKeepsOtherArtifactsCached() {
+        this.artifactService.findById("123451");
+        this.artifactService.findById("123452");
+
+        this.artifactService.patch("123451", new ArtifactPatch(null, "A new description", null));
+        this.statistics.clear();
+
+        assertThat(this.artifactService.findById("123452").getName()).isEqualTo("Invisibility Cloak");
+        assertThat(this.statistics.getPrepareStatementCount()).isZero();
+        assertThat(this.artifactService.findById("123451").getDescription()).isEqualTo("A new description");
+    }
+
+    @Test
+    void testUpdateWizardRefreshesCache() {
+        this.wizardService.findById(1);
+        Wizard update = new Wizard();
+        update.setName("Albus Dumbledore - update");
+
+        this.wizardService.update(1, update);
+
+        assertThat(this.wizardService.findById(1).getName()).isEqualTo("Albus Dumbledore - update");
+        assertThat(this.artifactService.findById("123451").getOwner().getName()).isEqualTo("Albus Dumbledore - update");
+    }
+
+    @Test
+    void testAssignArtifactEvictsBothCollections() {
+        assertThat(numberOfArtifacts(1)).isEqualTo(2);
+        assertThat(numberOfArtifacts(2)).isEqualTo(2);
+
+        this.wizardService.assignArtifact(1, "123452");
+
+        assertThat(numberOfArtifacts(1)).isEqualTo(3);
+        assertThat(numberOfArtifacts(2)).isEqualTo(1);
+        assertThat(this.artifactService.findById("123452").getOwner().getId()).isEqualTo(1);
+    }
+
+    @Test
+    void testDeleteArtifactEvictsOwnerCollection() {
+        assertThat(numberOfArtifacts(1)).isEqualTo(2);
+
+        this.artifactService.delete("123451");
+
+        assertThat(numberOfArtifacts(1)).isEqualTo(1);
+    }
+
+    @Test
+    void testDeleteWizardEvictsWizard() {
+        this.wizardService.findById(3);
+
+        this.wizardService.delete(3);
+
+        assertThat(this.wizardRepository.findById(3)).isEmpty();
+        assertThat(this.artifactService.findById("123455").getOwner()).isNull();
+    }
+
+    private int numberOfArtifacts(Integer wizardId) {
+        return this.transactionTemplate.execute(status -> this.wizardService.findById(wizardId).getNumberOfArtifacts());
+    }
+}
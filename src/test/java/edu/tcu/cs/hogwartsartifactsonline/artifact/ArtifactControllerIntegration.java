@@ -6,6 +6,9 @@ import edu.tcu.cs.hogwartsartifactsonline.system.StatusCode;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.hamcrest.Matchers;
 import org.json.JSONObject;
 import org.junit.jupiter.api.*;
@@ -13,19 +16,30 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 
@@ -37,6 +51,12 @@ public class ArtifactControllerIntegration extends IntegrationTestConfig {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     String token;
 
     @Value("${api.endpoint.base-url}")
@@ -64,6 +84,213 @@ public class ArtifactControllerIntegration extends IntegrationTestConfig {
                 .andExpect(jsonPath("$.data.content", Matchers.hasSize(6)));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindAllArtifactsIssuesSingleStatement() throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts").param("page", "0").param("size", "20").param("sort", "id,asc").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(6)))
+                .andExpect(jsonPath("$.data.content[0].owner.name").value("Albus Dumbledore"))
+                .andExpect(jsonPath("$.data.content[0].owner.numberOfArtifacts").value(2))
+                .andExpect(jsonPath("$.data.content[5].owner").isEmpty());
+
+        // The page is smaller than its size, so not even the count query is needed.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindArtifactsBySliceAndCachedCountSkipCountQuery() throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts").param("paging", "slice").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.last").value(false));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts").param("paging", "cached").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.totalElements").value(6));
+        statistics.clear();
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts").param("paging", "cached").param("size", "2").param("page", "1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.totalElements").value(6));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // A delete invalidates the cached count.
+        this.mockMvc.perform(delete(this.BASE_URL + "/artifacts/123456").header("Authorization", this.token))
+                .andExpect(jsonPath("$.flag").value(true));
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts").param("paging", "cached").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.totalElements").value(5));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testCursorPagingByNameVisitsArtifactsWithoutName() throws Exception {
+        this.jdbcTemplate.update("insert into artifact (id, name, description, image_url, version) values ('0', null, 'Unnamed', 'imageUrl', 0), ('9', null, 'Unnamed', 'imageUrl', 0)");
+        try {
+            assertThat(walkCursorPages("name,asc")).hasSize(8).startsWith("0", "9");
+            assertThat(walkCursorPages("name,desc")).hasSize(8).endsWith("9", "0");
+        } finally {
+            this.jdbcTemplate.update("delete from artifact where id in ('0', '9')");
+        }
+    }
+
+    private List<String> walkCursorPages(String sort) throws Exception {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get(this.BASE_URL + "/artifacts").param("paging", "cursor")
+                    .param("size", "3").param("sort", sort).accept(MediaType.APPLICATION_JSON);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JSONObject page = new JSONObject(this.mockMvc.perform(request).andReturn().getResponse().getContentAsString())
+                    .getJSONObject("data");
+            for (int i = 0; i < page.getJSONArray("content").length(); i++) {
+                ids.add(page.getJSONArray("content").getJSONObject(i).getString("id"));
+            }
+            cursor = page.isNull("nextCursor") ? null : page.getString("nextCursor");
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testAddArtifactsBatchFromJsonArray() throws Exception {
+        String body = """
+                [
+                  {"name": "Remembrall", "description": "A glass ball that turns red", "imageUrl": "imageUrl"},
+                  {"name": "", "description": "Missing name", "imageUrl": "imageUrl"},
+                  {"name": "Sneakoscope", "description": "Spins when someone untrustworthy is near", "imageUrl": "imageUrl"}
+                ]
+                """;
+
+        this.mockMvc.perform(post(BASE_URL + "/artifacts/batch").contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", this.token).content(body).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Batch add success"))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").isNotEmpty())
+                .andExpect(jsonPath("$.data.items[1].error").value("Name is required"))
+                .andExpect(jsonPath("$.data.items[2].id").isNotEmpty());
+
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(8)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testAddArtifactsBatchFromNdjsonStopsAtMalformedLine() throws Exception {
+        String body = """
+                {"name": "Remembrall", "description": "A glass ball that turns red", "imageUrl": "imageUrl"}
+                {"name": "Sneakoscope", "description": "Spins when someone untrustworthy is near", "imageUrl": "imageUrl"}
+                {"name": "Broken
+                """;
+
+        this.mockMvc.perform(post(BASE_URL + "/artifacts/batch").contentType(MediaType.APPLICATION_NDJSON)
+                        .header("Authorization", this.token).content(body).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data.total").value(3))
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.items[2].error").value(Matchers.startsWith("Malformed JSON")));
+
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(8)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testAddArtifactsBatchHidesDatabaseErrors() throws Exception {
+        String body = """
+                [{"name": "%s", "description": "Longer than the name column", "imageUrl": "imageUrl"}]
+                """.formatted("A".repeat(300));
+
+        this.mockMvc.perform(post(BASE_URL + "/artifacts/batch").contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", this.token).content(body).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.items[0].error").value("Could not save the chunk containing this item"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testExportArtifactsAsNdjson() throws Exception {
+        MvcResult mvcResult = this.mockMvc.perform(get(this.BASE_URL + "/artifacts/export").header("Authorization", this.token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, Matchers.startsWith(MediaType.APPLICATION_NDJSON_VALUE)))
+                .andReturn();
+
+        String[] lines = mvcResult.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(6);
+        JSONObject first = new JSONObject(lines[0]);
+        assertThat(first.getString("id")).isEqualTo("123451");
+        assertThat(first.getString("name")).isEqualTo("Deluminator");
+        assertThat(first.getString("ownerName")).isEqualTo("Albus Dumbledore");
+        assertThat(new JSONObject(lines[5]).isNull("ownerId")).isTrue();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testExportArtifactsAsGzippedCsv() throws Exception {
+        MvcResult mvcResult = this.mockMvc.perform(get(this.BASE_URL + "/artifacts/export").param("format", "csv").param("gzip", "true").header("Authorization", this.token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, Matchers.containsString("artifacts.csv")))
+                .andReturn();
+
+        byte[] csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()))) {
+            csv = in.readAllBytes();
+        }
+        String[] lines = new String(csv, StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(7);
+        assertThat(lines[0]).isEqualTo("id,name,description,imageUrl,ownerId,ownerName");
+        assertThat(lines[1]).startsWith("123451,Deluminator,").endsWith(",imageUrl,1,Albus Dumbledore");
+    }
+
+    @Test
+    void testExportArtifactsErrorWithoutAuthentication() throws Exception {
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts/export").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.UNAUTHORIZED));
+    }
+
+    @Test
+    void testExportArtifactsErrorWithUnsupportedFormat() throws Exception {
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts/export").param("format", "xml").header("Authorization", this.token).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.message").value("Export format xml is not supported, use ndjson or csv."));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindArtifactByIdReadsEntityCache() throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String eTag = this.mockMvc.perform(get(this.BASE_URL + "/artifacts/123451").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        this.mockMvc.perform(get(this.BASE_URL + "/artifacts/123451").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(jsonPath("$.data.owner.numberOfArtifacts").value(2));
+
+        // The artifact and its owner are cache hits; only the owner's artifact count is queried.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
     @Test
     void testFindArtifactByIdSuccess() throws Exception {
         var artifactId = "123451";
@@ -77,6 +304,69 @@ public class ArtifactControllerIntegration extends IntegrationTestConfig {
                 .andExpect(jsonPath("$.data.imageUrl").value("imageUrl"));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindArtifactByIdNotModifiedUntilUpdated() throws Exception {
+        var artifactId = "123451";
+        String eTag = this.mockMvc.perform(get(BASE_URL + "/artifacts/" + artifactId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(get(BASE_URL + "/artifacts/" + artifactId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        var update = new ArtifactDto(null, "Remembrall", "A Remembral was a magical large marble-sized glass ball", "imageUrl", null);
+        this.mockMvc.perform(put(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(update)))
+                .andExpect(jsonPath("$.flag").value(true));
+
+        this.mockMvc.perform(get(BASE_URL + "/artifacts/" + artifactId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+                .andExpect(jsonPath("$.data.name").value("Remembrall"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindAllArtifactsNotModifiedWithoutQueryUntilDeleted() throws Exception {
+        String eTag = this.mockMvc.perform(get(BASE_URL + "/artifacts").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Only the change counts are read, no artifact query runs.
+        this.mockMvc.perform(get(BASE_URL + "/artifacts").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        this.mockMvc.perform(delete(BASE_URL + "/artifacts/123456").header("Authorization", this.token))
+                .andExpect(jsonPath("$.flag").value(true));
+
+        this.mockMvc.perform(get(BASE_URL + "/artifacts").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(5)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindAllArtifactsETagChangesWithWritesFromOtherInstances() throws Exception {
+        String eTag = this.mockMvc.perform(get(BASE_URL + "/artifacts").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // What another instance's write commits alongside its change.
+        this.jdbcTemplate.update("update table_change set change_count = change_count + 1 where entity_name = 'Wizard'");
+
+        this.mockMvc.perform(get(BASE_URL + "/artifacts").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)));
+    }
+
     @Test
     void testFindArtifactByIdErrorWithNonExistentArtifactdId() throws Exception {
         var invalidId = "12";
@@ -184,6 +474,107 @@ public class ArtifactControllerIntegration extends IntegrationTestConfig {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testPatchArtifactWritesOnlySuppliedFields() throws Exception {
+        var artifactId = "123451";
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String eTag = this.mockMvc.perform(patch(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"description\": \"A silver lighter that steals light\"}"))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Patch success"))
+                .andExpect(jsonPath("$.data.name").value("Deluminator"))
+                .andExpect(jsonPath("$.data.description").value("A silver lighter that steals light"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // One versioned UPDATE of that row; only the artifact and its owner (for the response) are loaded.
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2);
+
+        this.mockMvc.perform(get(BASE_URL + "/artifacts/" + artifactId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(jsonPath("$.data.name").value("Deluminator"))
+                .andExpect(jsonPath("$.data.description").value("A silver lighter that steals light"));
+        this.mockMvc.perform(post(BASE_URL + "/artifacts/search").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"steals light\"}"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].id").value(artifactId));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testSearchFindsArtifactRenamedByAnotherInstance() throws Exception {
+        // What another instance's rename commits; this instance's text index never hears of it.
+        this.jdbcTemplate.update("update artifact set name = 'Sneakoscope' where id = '123451'");
+        this.jdbcTemplate.update("update table_change set change_count = change_count + 1 where entity_name = 'Artifact'");
+
+        this.mockMvc.perform(post(BASE_URL + "/artifacts/search").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"sneakoscope\"}"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].id").value("123451"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testConditionalWritesRejectStaleETag() throws Exception {
+        var artifactId = "123452";
+        String eTag = this.mockMvc.perform(get(BASE_URL + "/artifacts/" + artifactId).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var update = new ArtifactDto(null, "Remembrall", "A Remembral was a magical large marble-sized glass ball", "imageUrl", null);
+        String newETag = this.mockMvc.perform(put(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Every write with the tag read before the update is rejected, and changes nothing.
+        this.mockMvc.perform(put(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(this.objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(StatusCode.PRECONDITION_FAILED));
+        this.mockMvc.perform(patch(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType("application/merge-patch+json").content("{\"name\": \"Lost\"}"))
+                .andExpect(status().isPreconditionFailed());
+        this.mockMvc.perform(delete(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isPreconditionFailed());
+        this.mockMvc.perform(get(BASE_URL + "/artifacts/" + artifactId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, newETag))
+                .andExpect(jsonPath("$.data.name").value("Remembrall"));
+
+        this.mockMvc.perform(delete(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .header(HttpHeaders.IF_MATCH, newETag))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(delete(BASE_URL + "/artifacts/" + artifactId).header("Authorization", this.token)
+                        .header(HttpHeaders.IF_MATCH, newETag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPatchArtifactErrorWithNonExistentArtifactId() throws Exception {
+        this.mockMvc.perform(patch(BASE_URL + "/artifacts/12").header("Authorization", this.token)
+                        .contentType("application/merge-patch+json").content("{\"name\": \"Remembrall\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Could not find %s with Id %s".formatted("Artifact", "12")));
+    }
+
+    @Test
+    void testPatchArtifactErrorWithInvalidPatch() throws Exception {
+        this.mockMvc.perform(patch(BASE_URL + "/artifacts/123451").header("Authorization", this.token)
+                        .contentType("application/merge-patch+json").content("{\"name\": null, \"owner\": {\"id\": 2}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(StatusCode.INVALID_ARGUMENT))
+                .andExpect(jsonPath("$.data.name").value("Name is required"))
+                .andExpect(jsonPath("$.data.owner").value("Field cannot be patched"));
+    }
+
     @Test
     void testUpdateArtifactErrorWhenInvalidTokenIdProvided() throws Exception {
         var artifactId = "123451";
@@ -3,8 +3,14 @@ package edu.tcu.cs.hogwartsartifactsonline.artifact;
 import edu.tcu.cs.hogwartsartifactsonline.ControllerTestConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactPatch;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.VersionedArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.system.CursorPage;
 import edu.tcu.cs.hogwartsartifactsonline.system.StatusCode;
 import edu.tcu.cs.hogwartsartifactsonline.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.TooManyRequestsException;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,8 +22,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -29,13 +38,17 @@ import static org.mockito.BDDMockito.given;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.awaitility.Awaitility.given;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 class ArtifactControllerTest extends ControllerTestConfig{
@@ -46,6 +59,9 @@ class ArtifactControllerTest extends ControllerTestConfig{
     @MockBean
     ArtifactService artifactService;
 
+    @MockBean
+    ArtifactSummarizer artifactSummarizer;
+
     @Value("${api.endpoint.base-url}/artifacts")
     String BASE_URL;
 
@@ -81,8 +97,8 @@ class ArtifactControllerTest extends ControllerTestConfig{
     @Test
     void testFindArtifactByIdSuccess() throws Exception {
         // Given
-        when(artifactService.findById("12345"))
-                .thenReturn(this.artifacts.get(0));
+        when(artifactService.findVersionedDtoById("12345"))
+                .thenReturn(new VersionedArtifactDto(toDtos(this.artifacts).get(0), 0, null));
 
         // When - Then
         var artifactIndex = 0;
@@ -97,10 +113,23 @@ class ArtifactControllerTest extends ControllerTestConfig{
                 .andExpect(jsonPath("$.data.imageUrl").value(this.artifacts.get(artifactIndex).getImageUrl()));
     }
 
+    @Test
+    void testFindArtifactByIdNotModified() throws Exception {
+        // Given
+        var owner = new WizardDto(1, "Albus Dumbledore", 2);
+        var artifactDto = new ArtifactDto("12345", "Deluminator", "A Deluminator is...", "ImageUrl", owner);
+        when(artifactService.findVersionedDtoById("12345"))
+                .thenReturn(new VersionedArtifactDto(artifactDto, 3, 5));
+
+        // When - Then
+        this.mockMvc.perform(get(BASE_URL + "/12345").header(HttpHeaders.IF_NONE_MATCH, "\"3.1v5n2\""))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void testFindArtifactByIdNotFound() throws Exception {
         // Given
-        when(artifactService.findById("12345"))
+        when(artifactService.findVersionedDtoById("12345"))
                 .thenThrow(new ObjectNotFoundException(Artifact.class.getSimpleName() ,"12345"));
 
         // When - Then
@@ -116,7 +145,7 @@ class ArtifactControllerTest extends ControllerTestConfig{
     void testFindAllArtifactsSuccess() throws Exception {
         // Given
         Pageable pageable = PageRequest.of(0, 20);
-        PageImpl<Artifact> artifactPage = new PageImpl<>(this.artifacts, pageable, this.artifacts.size());
+        PageImpl<ArtifactDto> artifactPage = new PageImpl<>(toDtos(this.artifacts), pageable, this.artifacts.size());
         given(this.artifactService.findAll(Mockito.any(Pageable.class))).willReturn(artifactPage);
 
         MultiValueMap<String, String> requestParams = new LinkedMultiValueMap<>();
@@ -135,6 +164,40 @@ class ArtifactControllerTest extends ControllerTestConfig{
                 .andExpect(jsonPath("$.data.content[1].name").value("Invisibility Cloak"));
     }
 
+    @Test
+    void testFindAllArtifactsWithCursorSuccess() throws Exception {
+        // Given
+        var cursorPage = new CursorPage<>(toDtos(this.artifacts.subList(0, 2)), 2, true, "next-cursor");
+        given(this.artifactService.findByCursor(anyMap(), Mockito.isNull(), Mockito.any(Pageable.class))).willReturn(cursorPage);
+
+        // When and then
+        this.mockMvc.perform(get(this.BASE_URL).param("paging", "cursor").param("size", "2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Find all success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].id").value("12345"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"));
+    }
+
+    @Test
+    void testFindArtifactsByCriteriaWithSliceSuccess() throws Exception {
+        // Given
+        var slice = new SliceImpl<>(toDtos(this.artifacts.subList(0, 2)), PageRequest.of(0, 2), true);
+        given(this.artifactService.findSliceByCriteria(anyMap(), Mockito.any(Pageable.class))).willReturn(slice);
+
+        // When and then
+        this.mockMvc.perform(post(this.BASE_URL + "/search").param("paging", "slice").param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"a\"}").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.message").value("Search Success"))
+                .andExpect(jsonPath("$.data.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.data.last").value(false))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+        verify(this.artifactService, never()).findByCriteria(anyMap(), Mockito.any(Pageable.class));
+    }
+
     @Test
     void testSaveArtifactSuccess() throws Exception {
         // Given
@@ -183,7 +246,7 @@ class ArtifactControllerTest extends ControllerTestConfig{
                 "A new description",
                 "ImageUrl" );
 
-        when(artifactService.update(anyString() ,Mockito.any(Artifact.class)))
+        when(artifactService.update(anyString() ,Mockito.any(Artifact.class), Mockito.isNull()))
                 .thenReturn(updatedArtifact);
 
         // When - Then
@@ -208,7 +271,7 @@ class ArtifactControllerTest extends ControllerTestConfig{
 
         var artifactDtoJson = objectMapper.writeValueAsString(artifactDto);
 
-        when(artifactService.update(anyString() ,Mockito.any(Artifact.class)))
+        when(artifactService.update(anyString() ,Mockito.any(Artifact.class), Mockito.isNull()))
                 .thenThrow(new ObjectNotFoundException(Artifact.class.getSimpleName() ,"123456"));
 
         // When - Then
@@ -220,13 +283,59 @@ class ArtifactControllerTest extends ControllerTestConfig{
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    void testUpdateArtifactWithStaleIfMatch() throws Exception {
+        // Given
+        var artifactDto = new ArtifactDto(
+                "123456",
+                "Invisibility Cloak",
+                "A new description",
+                "imageUrl", null);
+
+        when(artifactService.update(eq("123456"), Mockito.any(Artifact.class), eq(1)))
+                .thenThrow(new PreconditionFailedException(Artifact.class.getSimpleName(), "123456"));
+
+        // When - Then
+        this.mockMvc.perform(put(BASE_URL + "/123456").header(HttpHeaders.IF_MATCH, "\"1.1v0n2\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(artifactDto)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.PRECONDITION_FAILED))
+                .andExpect(jsonPath("$.message").value("Artifact with Id 123456 has been modified since it was read, fetch it again and retry"));
+    }
+
+    @Test
+    void testPatchArtifactSuccess() throws Exception {
+        // Given
+        var artifactId = "12345";
+        var patchedArtifact = generateArtifact(artifactId,
+                "Invisibility Cloak",
+                "An invisibility cloak is used to make the wearer invisible.",
+                "newImageUrl");
+        patchedArtifact.setVersion(2);
+
+        when(this.artifactService.patch(artifactId, new ArtifactPatch(null, null, "newImageUrl"), null))
+                .thenReturn(patchedArtifact);
+
+        // When - Then
+        this.mockMvc.perform(patch(BASE_URL + "/" + artifactId).contentType("application/merge-patch+json")
+                        .content("{\"imageUrl\": \"newImageUrl\"}").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.flag").value(true))
+                .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
+                .andExpect(jsonPath("$.message").value("Patch success"))
+                .andExpect(jsonPath("$.data.id").value(artifactId))
+                .andExpect(jsonPath("$.data.name").value(patchedArtifact.getName()))
+                .andExpect(jsonPath("$.data.imageUrl").value("newImageUrl"));
+    }
+
     @Test
     void testDeleteArtifactSuccess() throws Exception {
         // Given
         var artifcatId = "12345";
 
         doNothing()
-                .when(this.artifactService).delete(artifcatId);
+                .when(this.artifactService).delete(artifcatId, null);
 
         // When - Then
         this.mockMvc.perform(delete(BASE_URL + "/" + artifcatId).accept(MediaType.APPLICATION_JSON))
@@ -241,7 +350,7 @@ class ArtifactControllerTest extends ControllerTestConfig{
         var artifactId = "12345";
 
         doThrow(new ObjectNotFoundException(Artifact.class.getSimpleName() ,artifactId))
-                .when(this.artifactService).delete(artifactId);
+                .when(this.artifactService).delete(artifactId, null);
 
         // When - Then
         this.mockMvc.perform(
@@ -252,18 +361,53 @@ class ArtifactControllerTest extends ControllerTestConfig{
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    void testDeleteArtifactWithWeakIfMatch() throws Exception {
+        // A weak tag never matches for If-Match, so nothing is deleted.
+        this.mockMvc.perform(delete(BASE_URL + "/12345").header(HttpHeaders.IF_MATCH, "W/\"0\"").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(StatusCode.PRECONDITION_FAILED));
+        verify(this.artifactService, never()).delete(anyString(), any());
+    }
+
     @Test
     void testSummarizeArtifactsSuccess() throws Exception {
         // Given
-        when(this.artifactService.summarize(anyList()))
-                .thenReturn("The summary includes six artifacts ...");
+        when(this.artifactSummarizer.summarizeCatalogAsync())
+                .thenReturn(CompletableFuture.completedFuture("The summary includes six artifacts ..."));
 
-        // When - Then
-        this.mockMvc.perform(
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(
                         get(BASE_URL + "/" + "summary").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        this.mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(jsonPath("$.flag").value(true))
                 .andExpect(jsonPath("$.code").value(StatusCode.SUCCESS))
                 .andExpect(jsonPath("$.message").value("Summarize success"))
                 .andExpect(jsonPath("$.data").value("The summary includes six artifacts ..."));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSummarizeArtifactsTooManyRequests() throws Exception {
+        // Given
+        when(this.artifactSummarizer.summarizeCatalogAsync())
+                .thenThrow(new TooManyRequestsException("Too many summaries in progress, try again later."));
+
+        // When - Then
+        this.mockMvc.perform(
+                        get(BASE_URL + "/" + "summary").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.code").value(StatusCode.TOO_MANY_REQUESTS))
+                .andExpect(jsonPath("$.message").value("Too many summaries in progress, try again later."));
+    }
+
+    private static List<ArtifactDto> toDtos(List<Artifact> artifacts) {
+        return artifacts.stream()
+                .map(artifact -> new ArtifactDto(artifact.getId(), artifact.getName(), artifact.getDescription(), artifact.getImageUrl(), null))
+                .toList();
+    }
+}
@@ -2,27 +2,36 @@ package edu.tcu.cs.hogwartsartifactsonline.artifact;
 
 import edu.tcu.cs.hogwartsartifactsonline.ServiceTestConfig;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactPatch;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.search.ArtifactTextIndex;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.utils.IdWorker;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.ChatClient;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Choice;
-import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Message;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeCounter;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.InvalidCursorException;
 import edu.tcu.cs.hogwartsartifactsonline.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.Wizard;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 import static edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactUtils.generateArtifact;
 import static org.assertj.core.api.Assertions.*;
@@ -37,7 +46,10 @@ class ArtifactServiceTest extends ServiceTestConfig{
     IdWorker idWorker;
 
     @Mock
-    ChatClient chatClient;
+    ArtifactTextIndex artifactTextIndex;
+
+    @Mock
+    TableChangeCounter tableChangeCounter;
 
     @InjectMocks
     ArtifactService artifactService;
@@ -110,6 +122,48 @@ class ArtifactServiceTest extends ServiceTestConfig{
         verify(artifactRepository, times(1)).findById(artifactId);
     }
 
+    @Test
+    void testFindVersionedDtoByIdSuccess() {
+        // Given
+        var a = generateArtifact("123456",
+                "Invisibility Cloak",
+                "An invisibility cloak is used to make the wearer invisible.",
+                "ImageUrl");
+        a.setVersion(3);
+        var w = new Wizard();
+        w.setId(2);
+        w.setName("Harry Potter");
+        w.setVersion(1);
+        a.setOwner(w);
+
+        when(artifactRepository.findById("123456"))
+                .thenReturn(Optional.of(a));
+        when(artifactRepository.countByOwnerId(2))
+                .thenReturn(2L);
+
+        // When
+        var versionedDto = artifactService.findVersionedDtoById("123456");
+
+        // Then
+        assertThat(versionedDto.artifact().name()).isEqualTo("Invisibility Cloak");
+        assertThat(versionedDto.artifact().owner()).isEqualTo(new WizardDto(2, "Harry Potter", 2));
+        assertThat(versionedDto.version()).isEqualTo(3);
+        assertThat(versionedDto.ownerVersion()).isEqualTo(1);
+        verify(artifactRepository, times(1)).countByOwnerId(2);
+    }
+
+    @Test
+    void testFindVersionedDtoByIdNotFound() {
+        // Given
+        when(artifactRepository.findById("123456"))
+                .thenReturn(Optional.empty());
+
+        // When - Then
+        assertThatThrownBy(() -> artifactService.findVersionedDtoById("123456"))
+                .isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find Artifact with Id 123456");
+    }
+
     @Test
     void testFindAllArtifactsSuccess() {
         // Given
@@ -176,6 +230,7 @@ class ArtifactServiceTest extends ServiceTestConfig{
         assertThat(updatedArtifact.getDescription()).isEqualTo(update.getDescription());
         verify(artifactRepository, times(1)).findById(oldArtifact.getId());
         verify(artifactRepository, times(1)).save(oldArtifact);
+        verify(artifactRepository, never()).flush();
     }
 
     @Test
@@ -186,15 +241,107 @@ class ArtifactServiceTest extends ServiceTestConfig{
                 "A new description",
                 "ImageUrl" );
 
-        when(artifactRepository.findById(anyString()))
+        when(artifactRepository.findById("123456"))
                 .thenReturn(Optional.empty());
 
         // When - Then
         assertThatThrownBy(() -> artifactService.update("123456", update))
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Could not find Artifact with Id %s".formatted("123456"));
-        verify(artifactRepository, times(1)).findById("123456");
-        verify(artifactRepository, times(0)).save(any(Artifact.class));
+        verify(artifactRepository, never()).save(any(Artifact.class));
+    }
+
+    @Test
+    void testUpdateStaleVersion() {
+        // Given
+        var oldArtifact = generateArtifact("123456", "Invisibility Cloak", "Description", "ImageUrl");
+        oldArtifact.setVersion(2);
+        var update = generateArtifact("123456", "Invisibility Cloak", "A new description", "ImageUrl");
+        when(artifactRepository.findById("123456")).thenReturn(Optional.of(oldArtifact));
+
+        // When - Then
+        assertThatThrownBy(() -> artifactService.update("123456", update, 1))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(oldArtifact.getDescription()).isEqualTo("Description");
+        verify(artifactRepository, never()).save(any(Artifact.class));
+    }
+
+    @Test
+    void testUpdateWithCurrentVersionFlushes() {
+        // Given
+        var oldArtifact = generateArtifact("123456", "Invisibility Cloak", "Description", "ImageUrl");
+        oldArtifact.setVersion(1);
+        var update = generateArtifact("123456", "Invisibility Cloak", "A new description", "ImageUrl");
+        when(artifactRepository.findById("123456")).thenReturn(Optional.of(oldArtifact));
+        when(artifactRepository.save(oldArtifact)).thenReturn(oldArtifact);
+
+        // When
+        artifactService.update("123456", update, 1);
+
+        // Then
+        verify(artifactRepository, times(1)).flush();
+    }
+
+    @Test
+    void testUpdateLosingRaceAfterVersionCheck() {
+        // Given: the version matched when loaded, but another write committed before the UPDATE.
+        var oldArtifact = generateArtifact("123456", "Invisibility Cloak", "Description", "ImageUrl");
+        oldArtifact.setVersion(1);
+        var update = generateArtifact("123456", "Invisibility Cloak", "A new description", "ImageUrl");
+        when(artifactRepository.findById("123456")).thenReturn(Optional.of(oldArtifact));
+        when(artifactRepository.save(oldArtifact)).thenReturn(oldArtifact);
+        doThrow(new ObjectOptimisticLockingFailureException(Artifact.class, "123456")).when(artifactRepository).flush();
+
+        // When - Then
+        assertThatThrownBy(() -> artifactService.update("123456", update, 1))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void testPatchSetsSuppliedFieldsOnly() {
+        // Given
+        var oldArtifact = generateArtifact("123456", "Invisibility Cloak", "Description", "ImageUrl");
+        var patch = new ArtifactPatch(null, "A new description", null);
+        when(artifactRepository.findById("123456")).thenReturn(Optional.of(oldArtifact));
+        when(artifactRepository.save(oldArtifact)).thenReturn(oldArtifact);
+
+        // When
+        var patchedArtifact = artifactService.patch("123456", patch);
+
+        // Then
+        assertThat(patchedArtifact.getName()).isEqualTo("Invisibility Cloak");
+        assertThat(patchedArtifact.getDescription()).isEqualTo("A new description");
+        assertThat(patchedArtifact.getImageUrl()).isEqualTo("ImageUrl");
+        verify(artifactRepository, times(1)).save(oldArtifact);
+    }
+
+    @Test
+    void testPatchNotFound() {
+        // Given
+        var patch = new ArtifactPatch("Remembrall", null, null);
+        when(artifactRepository.findById("123456")).thenReturn(Optional.empty());
+
+        // When - Then
+        assertThatThrownBy(() -> artifactService.patch("123456", patch))
+                .isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find Artifact with Id %s".formatted("123456"));
+        verify(artifactRepository, never()).save(any(Artifact.class));
+    }
+
+    @Test
+    void testPatchStaleVersion() {
+        // Given
+        var oldArtifact = generateArtifact("123456", "Invisibility Cloak", "Description", "ImageUrl");
+        oldArtifact.setVersion(2);
+        var patch = new ArtifactPatch("Remembrall", null, null);
+        when(artifactRepository.findById("123456")).thenReturn(Optional.of(oldArtifact));
+
+        // When - Then
+        assertThatThrownBy(() -> artifactService.patch("123456", patch, 1))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage("Artifact with Id 123456 has been modified since it was read, fetch it again and retry");
+        assertThat(oldArtifact.getName()).isEqualTo("Invisibility Cloak");
+        verify(artifactRepository, never()).save(any(Artifact.class));
     }
 
     @Test
@@ -208,56 +355,197 @@ class ArtifactServiceTest extends ServiceTestConfig{
         when(artifactRepository.findById("123456"))
                 .thenReturn(Optional.of(existingArtifact));
 
-        doNothing().when(artifactRepository).deleteById("123456");
-
         // When
         artifactService.delete("123456");
 
         // Then
         verify(artifactRepository, times(1)).findById("123456");
-        verify(artifactRepository, times(1))
-                .deleteById("123456");
+        verify(artifactRepository, times(1)).delete(existingArtifact);
+        verify(artifactRepository, never()).flush();
+    }
+
+    @Test
+    void testDeleteWithCurrentVersion() {
+        // Given
+        var existingArtifact = generateArtifact("123456", "Invisibility Cloak", "Description", "ImageUrl");
+        existingArtifact.setVersion(3);
+        when(artifactRepository.findById("123456")).thenReturn(Optional.of(existingArtifact));
+
+        // When
+        artifactService.delete("123456", 3);
+
+        // Then
+        verify(artifactRepository, times(1)).delete(existingArtifact);
+        verify(artifactRepository, times(1)).flush();
+    }
+
+    @Test
+    void testDeleteStaleVersion() {
+        // Given
+        var existingArtifact = generateArtifact("123456", "Invisibility Cloak", "Description", "ImageUrl");
+        existingArtifact.setVersion(3);
+        when(artifactRepository.findById("123456")).thenReturn(Optional.of(existingArtifact));
+
+        // When - Then
+        assertThatThrownBy(() -> artifactService.delete("123456", 2))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(artifactRepository, never()).delete(any(Artifact.class));
     }
 
     @Test
     void testDeleteNotFound() {
         // Given
-        when(artifactRepository.findById(anyString()))
-                .thenReturn(Optional.empty());
+        when(artifactRepository.findById("123456")).thenReturn(Optional.empty());
 
         // When - Then
         assertThatThrownBy(() -> artifactService.delete("123456"))
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessage("Could not find Artifact with Id %s".formatted("123456"));
-        verify(artifactRepository, times(1)).findById("123456");
-        verify(artifactRepository, times(0)).deleteById("123456");
+        verify(artifactRepository, never()).delete(any(Artifact.class));
     }
 
     @Test
-    void testSummarizeSuccess() throws JsonProcessingException {
+    void testFindAllPageSuccess() {
         // Given
-        var wizardDto = new WizardDto(1, "Albus Dombledore", 2);
-        List<ArtifactDto> artifactDtos = List.of(
-                new ArtifactDto("1", "Deluminartor", "Generic description...", "imageUrl", wizardDto),
-                new ArtifactDto("2", "Elder Wand", "Generic description...", "imageUrl", wizardDto)
-        );
+        var pageable = PageRequest.of(0, 20);
+        var artifactPage = new PageImpl<>(toDtos(this.artifacts), pageable, this.artifacts.size());
+        when(artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), eq(pageable))).thenReturn(artifactPage);
+
+        // When
+        var page = artifactService.findAll(pageable);
+
+        // Then
+        assertThat(page.getContent()).extracting(ArtifactDto::id).containsExactly("12345", "12346", "12347");
+        verify(artifactRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testFindSliceSkipsCount() {
+        // Given
+        var pageable = PageRequest.of(0, 2);
+        var slice = new SliceImpl<>(toDtos(this.artifacts.subList(0, 2)), pageable, true);
+        when(artifactRepository.findDtoSlice(ArgumentMatchers.<Specification<Artifact>>any(), eq(pageable))).thenReturn(slice);
+
+        // When
+        var found = artifactService.findSliceByCriteria(Map.of("name", "cloak"), pageable);
+
+        // Then
+        assertThat(found.hasNext()).isTrue();
+        verify(artifactRepository, never()).count(ArgumentMatchers.<Specification<Artifact>>any());
+    }
+
+    @Test
+    void testCachedCountIsReusedUntilArtifactsChange() {
+        // Given
+        var pageable = PageRequest.of(0, 2);
+        when(tableChangeCounter.eTag(Artifact.class, Wizard.class)).thenReturn("\"1.0\"", "\"1.0\"", "\"2.0\"");
+        when(artifactRepository.count(ArgumentMatchers.<Specification<Artifact>>any())).thenReturn(40L, 41L);
+        when(artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), eq(pageable), any(LongSupplier.class)))
+                .thenAnswer(invocation -> new PageImpl<>(toDtos(this.artifacts.subList(0, 2)), pageable,
+                        invocation.<LongSupplier>getArgument(2).getAsLong()));
+
+        // When
+        var first = artifactService.findByCriteriaWithCachedCount(Map.of("name", "cloak"), pageable);
+        var sameCriteria = artifactService.findByCriteriaWithCachedCount(Map.of("name", "CLOAK", "unknown", "x"), pageable);
+        var afterWrite = artifactService.findByCriteriaWithCachedCount(Map.of("name", "cloak"), pageable);
+
+        // Then
+        assertThat(first.getTotalElements()).isEqualTo(40);
+        assertThat(sameCriteria.getTotalElements()).isEqualTo(40);
+        assertThat(afterWrite.getTotalElements()).isEqualTo(41);
+        verify(artifactRepository, times(2)).count(ArgumentMatchers.<Specification<Artifact>>any());
+    }
+
+    @Test
+    void testCachedCountKeyIgnoresDefaultLocale() {
+        // Given
+        var pageable = PageRequest.of(0, 2);
+        when(tableChangeCounter.eTag(Artifact.class, Wizard.class)).thenReturn("\"1.0\"");
+        when(artifactRepository.count(ArgumentMatchers.<Specification<Artifact>>any())).thenReturn(40L);
+        when(artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), eq(pageable), any(LongSupplier.class)))
+                .thenAnswer(invocation -> new PageImpl<>(toDtos(this.artifacts.subList(0, 2)), pageable,
+                        invocation.<LongSupplier>getArgument(2).getAsLong()));
+        Locale defaultLocale = Locale.getDefault();
+        // Under a Turkish default locale "I".toLowerCase() is a dotless i.
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        // When
+        try {
+            artifactService.findByCriteriaWithCachedCount(Map.of("name", "INVISIBILITY"), pageable);
+            artifactService.findByCriteriaWithCachedCount(Map.of("name", "invisibility"), pageable);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
 
-        ObjectMapper objectMapper = new ObjectMapper();
-        String jsonArray = objectMapper.writeValueAsString(artifactDtos);
+        // Then
+        verify(artifactRepository, times(1)).count(ArgumentMatchers.<Specification<Artifact>>any());
+    }
+
+    @Test
+    void testFindByCursorFirstPage() {
+        // Given
+        when(artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), eq(Sort.by(Sort.Direction.ASC, "id")), eq(3)))
+                .thenReturn(toDtos(this.artifacts));
+
+        // When
+        var page = artifactService.findByCursor(Map.of(), null, PageRequest.of(0, 2));
+
+        // Then
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.hasNext()).isTrue();
+        var cursor = ArtifactCursor.decode(page.nextCursor());
+        assertThat(cursor.id()).isEqualTo("12346");
+        assertThat(cursor.sortProperty()).isEqualTo("id");
+    }
 
-        List<Message> messages = List.of(new Message("system", "prompt"), new Message("user", jsonArray));
-        var chatRequest = new ChatRequest("gpt-4", messages);
+    @Test
+    void testFindByCursorLastPage() {
+        // Given
+        var cursor = new ArtifactCursor("name", Sort.Direction.ASC, "Deluminator", "12345").encode();
+        var expectedSort = Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id"));
+        when(artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), eq(expectedSort), eq(21)))
+                .thenReturn(toDtos(this.artifacts.subList(1, 3)));
 
-        var chatResponse = new ChatResponse(List.of(new Choice(1, new Message("assistant", "A summary of two artifacts..."))));
+        // When
+        var page = artifactService.findByCursor(Map.of("description", "invisible"), cursor, PageRequest.of(0, 20));
 
+        // Then
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
 
-        when(this.chatClient.generate(any(ChatRequest.class))).thenReturn(chatResponse);
+    @Test
+    void testFindByCursorCapsPageSize() {
+        // Given
+        when(artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), anyInt()))
+                .thenReturn(toDtos(this.artifacts));
 
         // When
-        String summary = this.artifactService.summarize(artifactDtos);
+        var page = artifactService.findByCursor(Map.of(), null, PageRequest.of(0, 5000));
 
         // Then
-        assertThat(summary).isEqualTo("A summary of two artifacts...");
-        verify(this.chatClient, times(1)).generate(any(ChatRequest.class));
+        assertThat(page.size()).isEqualTo(100);
+        verify(artifactRepository, times(1)).findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(101));
+    }
+
+    @Test
+    void testFindByCursorRejectsUnsupportedSort() {
+        // When - Then
+        assertThatThrownBy(() -> artifactService.findByCursor(Map.of(), null, PageRequest.of(0, 20, Sort.by("description"))))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void testFindByCursorRejectsMalformedCursor() {
+        // When - Then
+        assertThatThrownBy(() -> artifactService.findByCursor(Map.of(), "not a cursor", PageRequest.of(0, 20)))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static List<ArtifactDto> toDtos(List<Artifact> artifacts) {
+        return artifacts.stream()
+                .map(artifact -> new ArtifactDto(artifact.getId(), artifact.getName(), artifact.getDescription(), artifact.getImageUrl(), null))
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,191 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact;
+
+import edu.tcu.cs.hogwartsartifactsonline.ServiceTestConfig;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.dto.ArtifactDto;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.ChatClient;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Choice;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Message;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.TooManyRequestsException;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ArtifactSummarizerTest extends ServiceTestConfig {
+
+    @Mock
+    ArtifactRepository artifactRepository;
+
+    // Real generateAsync, so the catalog pipeline goes through the stubbed generate.
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    ChatClient chatClient;
+
+    ArtifactSummarizer artifactSummarizer;
+
+    final WizardDto wizardDto = new WizardDto(1, "Albus Dombledore", 2);
+
+    @BeforeEach
+    void setUp() {
+        // Chunks of two artifacts, two chunks at a time, two partial summaries per reduce call,
+        // one catalog summary at a time.
+        this.artifactSummarizer = new ArtifactSummarizer(this.artifactRepository, this.chatClient, 2, 2, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.artifactSummarizer.shutdown();
+    }
+
+    @Test
+    void testSummarizeCatalogMapsChunksAndReducesPartials() {
+        // Given
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), eq(Sort.by("id")), eq(2)))
+                .thenReturn(List.of(artifact("1"), artifact("2")))
+                .thenReturn(List.of(artifact("3"), artifact("4")))
+                .thenReturn(List.of(artifact("5")));
+        when(this.chatClient.generate(any(ChatRequest.class))).thenAnswer(invocation -> {
+            ChatRequest chatRequest = invocation.getArgument(0);
+            String content = chatRequest.messages().get(1).content();
+            return content.startsWith("[")
+                    ? response("partial " + content.length())
+                    : response("combined");
+        });
+
+        // When
+        String summary = this.artifactSummarizer.summarizeCatalogAsync().join();
+
+        // Then: three chunk summaries, combined two at a time and then once more.
+        assertThat(summary).isEqualTo("combined");
+        verify(this.artifactRepository, times(3)).findDtos(ArgumentMatchers.<Specification<Artifact>>any(), eq(Sort.by("id")), eq(2));
+        verify(this.chatClient, times(3)).generate(argThat(request -> request.messages().get(1).content().startsWith("[")));
+        verify(this.chatClient, times(2)).generate(argThat(request -> !request.messages().get(1).content().startsWith("[")));
+    }
+
+    @Test
+    void testSummarizeCatalogWithSingleChunkSkipsReduce() {
+        // Given
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(artifact("1")));
+        when(this.chatClient.generate(any(ChatRequest.class))).thenReturn(response("A summary of one artifact..."));
+
+        // When
+        String summary = this.artifactSummarizer.summarizeCatalogAsync().join();
+
+        // Then
+        assertThat(summary).isEqualTo("A summary of one artifact...");
+        verify(this.chatClient, times(1)).generate(any(ChatRequest.class));
+    }
+
+    @Test
+    void testSummarizeEmptyCatalog() {
+        // Given
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2)))
+                .thenReturn(List.of());
+
+        // When
+        String summary = this.artifactSummarizer.summarizeCatalogAsync().join();
+
+        // Then
+        assertThat(summary).isEmpty();
+        verifyNoInteractions(this.chatClient);
+    }
+
+    @Test
+    void testSummarizeCatalogPropagatesChatClientError() {
+        // Given
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(artifact("1")));
+        when(this.chatClient.generate(any(ChatRequest.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When - Then
+        assertThatThrownBy(() -> this.artifactSummarizer.summarizeCatalogAsync().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+    }
+
+    @Test
+    void testSummarizeCatalogStopsReadingAfterChunkFailure() {
+        // Given: a catalog that never ends, so only the failure can stop the walk.
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(artifact("1"), artifact("2")));
+        when(this.chatClient.generate(any(ChatRequest.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When - Then
+        assertThatThrownBy(() -> this.artifactSummarizer.summarizeCatalogAsync().join())
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+        // At most one chunk is read while the two in flight fail.
+        verify(this.artifactRepository, atMost(3)).findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2));
+        verify(this.chatClient, atMost(2)).generate(any(ChatRequest.class));
+    }
+
+    @Test
+    void testCancelledSummaryStopsReadingAndFreesItsSlot() {
+        // Given
+        CompletableFuture<ChatResponse> pending = new CompletableFuture<>();
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(artifact("1"), artifact("2")));
+        doReturn(pending).when(this.chatClient).generateAsync(any(ChatRequest.class));
+        CompletableFuture<String> summary = this.artifactSummarizer.summarizeCatalogAsync();
+        // Two chunks are being summarized and a third waits for one of them to finish.
+        verify(this.artifactRepository, timeout(1000).times(3)).findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2));
+
+        // When
+        summary.cancel(false);
+        pending.complete(response("partial"));
+
+        // Then: the waiting chunk is dropped, nothing more is read or combined.
+        verify(this.artifactRepository, after(300).times(3)).findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2));
+        verify(this.chatClient, times(2)).generateAsync(any(ChatRequest.class));
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(artifact("1")));
+        assertThat(this.artifactSummarizer.summarizeCatalogAsync().join()).isEqualTo("partial");
+    }
+
+    @Test
+    void testSummarizeCatalogAsyncRejectsWhenTooManyInFlight() {
+        // Given
+        CompletableFuture<ChatResponse> pending = new CompletableFuture<>();
+        when(this.artifactRepository.findDtos(ArgumentMatchers.<Specification<Artifact>>any(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(artifact("1")));
+        doReturn(pending).when(this.chatClient).generateAsync(any(ChatRequest.class));
+        CompletableFuture<String> first = this.artifactSummarizer.summarizeCatalogAsync();
+
+        // When - Then
+        assertThatThrownBy(() -> this.artifactSummarizer.summarizeCatalogAsync())
+                .isInstanceOf(TooManyRequestsException.class);
+
+        pending.complete(response("A summary of one artifact..."));
+        assertThat(first.join()).isEqualTo("A summary of one artifact...");
+        assertThat(this.artifactSummarizer.summarizeCatalogAsync().join()).isEqualTo("A summary of one artifact...");
+    }
+
+    private ArtifactDto artifact(String id) {
+        return new ArtifactDto(id, "Artifact " + id, "Generic description...", "imageUrl", this.wizardDto);
+    }
+
+    private static ChatResponse response(String content) {
+        return new ChatResponse(List.of(new Choice(0, new Message("assistant", content))));
+    }
+}
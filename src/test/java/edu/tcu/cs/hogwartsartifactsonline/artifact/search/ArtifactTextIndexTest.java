@@ -0,0 +1,68 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.search;
+
+import edu.tcu.cs.hogwartsartifactsonline.ServiceTestConfig;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.Artifact;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactRepository;
+import edu.tcu.cs.hogwartsartifactsonline.system.TableChangeCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+class ArtifactTextIndexTest extends ServiceTestConfig {
+
+    @Mock
+    ArtifactRepository artifactRepository;
+
+    @Mock
+    TableChangeCounter tableChangeCounter;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    ArtifactTextIndex artifactTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.artifactTextIndex = new ArtifactTextIndex(this.artifactRepository, this.tableChangeCounter,
+                this.transactionManager, true, 100);
+        given(this.artifactRepository.streamSearchableText()).willAnswer(invocation -> Stream.of(
+                new ArtifactText("1250808601744904191", "Deluminator", "A silver lighter"),
+                new ArtifactText("1250808601744904192", "Invisibility Cloak", "Makes the wearer invisible")));
+        given(this.tableChangeCounter.changeCount(Artifact.class)).willReturn(7L);
+        this.artifactTextIndex.rebuild();
+    }
+
+    @Test
+    void testCandidatesWhenIndexIsCurrent() {
+        assertThat(this.artifactTextIndex.candidates("cloak", null)).contains(Set.of("1250808601744904192"));
+    }
+
+    @Test
+    void testCandidatesFollowConsecutiveChanges() {
+        this.artifactTextIndex.put("1250808601744904193", "Elder Wand", "The Deathstick", 8);
+        given(this.tableChangeCounter.changeCount(Artifact.class)).willReturn(8L);
+
+        assertThat(this.artifactTextIndex.candidates("wand", null)).contains(Set.of("1250808601744904193"));
+    }
+
+    @Test
+    void testNoCandidatesAfterChangeThisInstanceDidNotSee() {
+        // Change 8 was made elsewhere; applying 9 cannot make the index current.
+        this.artifactTextIndex.put("1250808601744904193", "Elder Wand", "The Deathstick", 9);
+        given(this.tableChangeCounter.changeCount(Artifact.class)).willReturn(9L);
+
+        assertThat(this.artifactTextIndex.candidates("wand", null)).isEmpty();
+    }
+
+    @Test
+    void testNoCandidatesForQueryItCannotNarrow() {
+        assertThat(this.artifactTextIndex.candidates("wa", "c_oak")).isEmpty();
+    }
+}
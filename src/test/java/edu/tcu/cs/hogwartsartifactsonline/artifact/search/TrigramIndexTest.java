@@ -0,0 +1,105 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        this.index = new TrigramIndex();
+        this.index.put("1250808601744904191", "Deluminator");
+        this.index.put("1250808601744904192", "Invisibility Cloak");
+        this.index.put("1250808601744904193", "Elder Wand");
+        this.index.put("1250808601744904194", "The Marauder's Map");
+    }
+
+    @Test
+    void testSearchIsCaseInsensitive() {
+        assertThat(this.index.search("cLoAk", 100)).containsExactly("1250808601744904192");
+        assertThat(this.index.search("AND", 100)).containsExactly("1250808601744904193");
+    }
+
+    @Test
+    void testSearchIsAccentInsensitive() {
+        this.index.put("1250808601744904195", "Pens\u00e9e");
+
+        assertThat(this.index.search("pensee", 100)).containsExactly("1250808601744904195");
+        assertThat(this.index.search("P\u00c9NS", 100)).containsExactly("1250808601744904195");
+    }
+
+    @Test
+    void testTextNotFoldingToAsciiIsAlwaysACandidate() {
+        // A case- and accent-insensitive collation may match "strasse" against it.
+        this.index.put("1250808601744904195", "Stra\u00dfe");
+
+        assertThat(this.index.search("strasse", 100)).containsExactly("1250808601744904195");
+        assertThat(this.index.search("cloak", 100)).containsExactlyInAnyOrder("1250808601744904192", "1250808601744904195");
+        assertThat(this.index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void testSearchReturnsNullForQueryItCannotNarrow() {
+        assertThat(this.index.search("stra\u00dfe", 100)).isNull();
+        assertThat(this.index.search("c_oak", 100)).isNull();
+        assertThat(this.index.search("clo%", 100)).isNull();
+    }
+
+    @Test
+    void testSearchIntersectsTrigrams() {
+        // "mapa" shares the trigram "map" with the Marauder's Map but not "apa".
+        assertThat(this.index.search("map", 100)).containsExactly("1250808601744904194");
+        assertThat(this.index.search("mapa", 100)).isEmpty();
+        assertThat(this.index.search("unknown", 100)).isEmpty();
+    }
+
+    @Test
+    void testSearchReturnsNullForShortQuery() {
+        assertThat(this.index.search("wa", 100)).isNull();
+        assertThat(this.index.search(null, 100)).isNull();
+    }
+
+    @Test
+    void testSearchReturnsNullAboveLimit() {
+        this.index.put("1250808601744904195", "Elder Wand replica");
+
+        assertThat(this.index.search("wand", 1)).isNull();
+        assertThat(this.index.search("wand", 2)).hasSize(2);
+    }
+
+    @Test
+    void testPutReplacesText() {
+        this.index.put("1250808601744904193", "Deathstick");
+
+        assertThat(this.index.search("wand", 100)).isEmpty();
+        assertThat(this.index.search("death", 100)).containsExactly("1250808601744904193");
+        assertThat(this.index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testRemove() {
+        this.index.remove("1250808601744904191");
+
+        assertThat(this.index.search("lumin", 100)).isEmpty();
+        assertThat(this.index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testSearchAfterCompaction() {
+        for (int i = 0; i < 5000; i++) {
+            this.index.put("tmp" + i, "Portkey " + i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            this.index.remove("tmp" + i);
+        }
+        this.index.put("tmp42", "Portkey 42");
+
+        assertThat(this.index.size()).isEqualTo(5);
+        assertThat(this.index.search("portkey", 100)).containsExactly("tmp42");
+        assertThat(this.index.search("invisib", 100)).containsExactly("1250808601744904192");
+    }
+}
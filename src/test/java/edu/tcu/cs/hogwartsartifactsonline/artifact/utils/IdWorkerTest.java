@@ -0,0 +1,144 @@
+package edu.tcu.cs.hogwartsartifactsonline.artifact.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdWorkerTest {
+
+    @Test
+    void testNextIdIsIncreasing() {
+        // Given
+        var idWorker = new IdWorker(1, 1);
+
+        // When
+        long previous = idWorker.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = idWorker.nextId();
+
+            // Then
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testNextIdsReservesConsecutiveBlock() {
+        // Given
+        var idWorker = new IdWorker(1, 1, () -> 1_700_000_000_000L);
+
+        // When
+        long[] ids = idWorker.nextIds(100);
+
+        // Then
+        assertThat(ids).hasSize(100);
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isEqualTo(ids[i - 1] + 1);
+        }
+        assertThat(idWorker.nextId()).isEqualTo(ids[99] + 1);
+    }
+
+    @Test
+    void testNextIdsSpansMillisecondsWhenSequenceRunsOut() {
+        // Given
+        var clock = new AtomicLong(1_700_000_000_000L);
+        var idWorker = new IdWorker(1, 1, clock::getAndIncrement);
+
+        // When
+        long[] ids = idWorker.nextIds(10_000);
+
+        // Then
+        assertThat(Arrays.stream(ids).distinct().count()).isEqualTo(10_000);
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+        }
+    }
+
+    @Test
+    void testWaitsForNextMillisecondAreCounted() {
+        // Given: the clock only moves on every 5000 reads, after a millisecond's 4096 ids are gone.
+        var reads = new AtomicLong();
+        var idWorker = new IdWorker(1, 1, () -> 1_700_000_000_000L + reads.getAndIncrement() / 5_000);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            idWorker.nextId();
+        }
+
+        // Then
+        assertThat(idWorker.getWaitCount()).isEqualTo(1);
+        assertThat(idWorker.getWaitNanos()).isPositive();
+    }
+
+    @Test
+    void testNextIdToleratesSmallClockRegression() {
+        // Given
+        var clock = new AtomicLong(1_700_000_000_000L);
+        var idWorker = new IdWorker(1, 1, clock::get);
+        long before = idWorker.nextId();
+
+        // When
+        clock.addAndGet(-5);
+        long after = idWorker.nextId();
+
+        // Then
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void testNextIdRefusesLargeClockRegression() {
+        // Given
+        var clock = new AtomicLong(1_700_000_000_000L);
+        var idWorker = new IdWorker(1, 1, clock::get);
+        idWorker.nextId();
+
+        // When
+        clock.addAndGet(-60_000);
+
+        // Then
+        assertThatThrownBy(idWorker::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Clock moved backwards.");
+    }
+
+    @Test
+    void testNextIdIsUniqueAcrossThreads() throws Exception {
+        // Given
+        var idWorker = new IdWorker(1, 1);
+        int threads = 8;
+        int idsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = (i % 2 == 0) ? idWorker.nextId() : idWorker.nextIds(1)[0];
+                }
+                return ids;
+            }));
+        }
+        long[] all = new long[threads * idsPerThread];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get();
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(Arrays.stream(all).distinct().count()).isEqualTo(all.length);
+    }
+}
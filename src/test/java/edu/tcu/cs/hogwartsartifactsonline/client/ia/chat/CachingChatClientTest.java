@@ -0,0 +1,230 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Choice;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Message;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingChatClientTest {
+
+    @TempDir
+    Path directory;
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    final MutableClock clock = new MutableClock(Instant.parse("2024-04-01T10:00:00Z"));
+
+    StubChatClient stub;
+
+    ChatRequest chatRequest;
+
+    @BeforeEach
+    void setUp() {
+        this.stub = new StubChatClient();
+        this.chatRequest = new ChatRequest("gpt-3.5-turbo", List.of(
+                new Message("system", "Your task is to generate a short summary of a given JSON array"),
+                new Message("user", "[{\"id\":\"1\"}]")));
+    }
+
+    @Test
+    void testIdenticalRequestIsServedFromCache() {
+        CachingChatClient client = newClient();
+
+        ChatResponse first = client.generate(this.chatRequest);
+        ChatResponse second = client.generate(this.chatRequest);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(this.stub.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testDifferentRequestsAreCachedSeparately() {
+        CachingChatClient client = newClient();
+        ChatRequest other = new ChatRequest("gpt-3.5-turbo", List.of(new Message("user", "something else")));
+
+        client.generate(this.chatRequest);
+        client.generate(other);
+
+        assertThat(this.stub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testEntriesSurviveRestart() {
+        ChatResponse first = newClient().generate(this.chatRequest);
+
+        ChatResponse afterRestart = newClient().generate(this.chatRequest);
+
+        assertThat(afterRestart).isEqualTo(first);
+        assertThat(this.stub.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testStaleEntryIsServedWhileRevalidating() {
+        CachingChatClient client = newClient();
+        ChatResponse first = client.generate(this.chatRequest);
+
+        this.clock.advance(Duration.ofMinutes(90));
+        ChatResponse stale = client.generate(this.chatRequest);
+        ChatResponse refreshed = client.generate(this.chatRequest);
+
+        assertThat(stale).isEqualTo(first);
+        assertThat(refreshed).isNotEqualTo(first);
+        assertThat(this.stub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testExpiredEntryIsEvicted() {
+        CachingChatClient client = newClient();
+        ChatResponse first = client.generate(this.chatRequest);
+
+        this.clock.advance(Duration.ofHours(25));
+        ChatResponse second = client.generate(this.chatRequest);
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(this.stub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testEvictExpiredRemovesOldEntries() {
+        CachingChatClient client = newClient();
+        client.generate(this.chatRequest);
+
+        this.clock.advance(Duration.ofHours(25));
+        client.evictExpired();
+
+        assertThat(this.directory.toFile().list()).isEmpty();
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneUpstreamCall() throws Exception {
+        CachingChatClient client = newClient();
+        this.stub.release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ChatResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(callers.submit(() -> client.generate(this.chatRequest)));
+            }
+            // Give every caller the chance to join the in-flight call before it completes.
+            Thread.sleep(200);
+            this.stub.release.countDown();
+
+            for (Future<ChatResponse> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).choices().get(0).message().content()).isEqualTo("summary 1");
+            }
+            assertThat(this.stub.calls.get()).isEqualTo(1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAsyncRequestsShareCacheAndInFlightCall() throws Exception {
+        CachingChatClient client = newClient();
+        this.stub.release = new CountDownLatch(1);
+
+        CompletableFuture<ChatResponse> first = client.generateAsync(this.chatRequest);
+        CompletableFuture<ChatResponse> second = client.generateAsync(this.chatRequest);
+        this.stub.release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(client.generateAsync(this.chatRequest).get(5, TimeUnit.SECONDS)).isEqualTo(first.get());
+        assertThat(this.stub.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        CachingChatClient client = newClient();
+        this.stub.failure = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+
+        assertThatThrownBy(() -> client.generate(this.chatRequest)).isInstanceOf(HttpServerErrorException.class);
+
+        this.stub.failure = null;
+        client.generate(this.chatRequest);
+        assertThat(this.stub.calls.get()).isEqualTo(2);
+    }
+
+    private CachingChatClient newClient() {
+        // Background refreshes run on the calling thread so the tests stay deterministic.
+        return new CachingChatClient(this.stub, new FileChatResponseStore(this.directory, this.objectMapper),
+                this.objectMapper, Duration.ofHours(1), Duration.ofHours(24), this.clock, Runnable::run);
+    }
+
+    static class StubChatClient implements ChatClient {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        volatile CountDownLatch release;
+
+        volatile RuntimeException failure;
+
+        @Override
+        public ChatResponse generate(ChatRequest chatRequest) {
+            int call = this.calls.incrementAndGet();
+            if (this.release != null) {
+                try {
+                    this.release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            return new ChatResponse(List.of(new Choice(0, new Message("assistant", "summary " + call))));
+        }
+    }
+
+    static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            this.now = this.now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.now;
+        }
+    }
+}
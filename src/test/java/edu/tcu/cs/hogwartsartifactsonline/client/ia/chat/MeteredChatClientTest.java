@@ -0,0 +1,57 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Choice;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredChatClientTest {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    final ChatRequest chatRequest = new ChatRequest("gpt-4", List.of(new Message("user", "A json array")));
+
+    volatile RuntimeException failure;
+
+    final MeteredChatClient client = new MeteredChatClient(chatRequest -> {
+        if (this.failure != null) {
+            throw this.failure;
+        }
+        return new ChatResponse(List.of(new Choice(0, new Message("assistant", "The summary includes..."))));
+    }, this.meterRegistry);
+
+    @Test
+    void testSuccessfulCallsAreTimed() throws Exception {
+        this.client.generate(this.chatRequest);
+        this.client.generateAsync(this.chatRequest).get(5, TimeUnit.SECONDS);
+
+        assertThat(count("SUCCESS", "none")).isEqualTo(2);
+    }
+
+    @Test
+    void testFailedCallsAreTaggedWithTheException() {
+        this.failure = new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+
+        assertThatThrownBy(() -> this.client.generate(this.chatRequest)).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> this.client.generateAsync(this.chatRequest).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class);
+
+        assertThat(count("ERROR", "HttpServerErrorException")).isEqualTo(2);
+        assertThat(this.meterRegistry.find("ai.chat.requests").tag("outcome", "SUCCESS").timer()).isNull();
+    }
+
+    private long count(String outcome, String exception) {
+        return this.meterRegistry.get("ai.chat.requests").tag("outcome", outcome).tag("exception", exception).timer().count();
+    }
+}
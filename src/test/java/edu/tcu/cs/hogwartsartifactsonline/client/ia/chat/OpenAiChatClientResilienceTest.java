@@ -0,0 +1,210 @@
+package edu.tcu.cs.hogwartsartifactsonline.client.ia.chat;
+
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatRequest;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.ChatResponse;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Choice;
+import edu.tcu.cs.hogwartsartifactsonline.client.ia.chat.dto.Message;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.CircuitBreakerOpenException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link OpenAiChatClient} against a local stub of the chat model that answers with
+ * scripted delays and error statuses.
+ */
+class OpenAiChatClientResilienceTest {
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    final ChatRequest chatRequest = new ChatRequest("gpt-4", List.of(new Message("user", "A json array")));
+
+    final Queue<Reply> replies = new ConcurrentLinkedQueue<>();
+
+    final AtomicInteger requests = new AtomicInteger();
+
+    HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/v1/chat/completions", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    void testRetriesServerErrorsThenSucceeds() {
+        this.replies.add(Reply.status(503));
+        this.replies.add(Reply.status(502));
+        OpenAiChatClient client = newClient(3, 5);
+
+        ChatResponse chatResponse = client.generate(this.chatRequest);
+
+        assertThat(chatResponse.choices().get(0).message().content()).isEqualTo("The summary includes...");
+        assertThat(this.requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        for (int i = 0; i < 3; i++) {
+            this.replies.add(Reply.status(500));
+        }
+        OpenAiChatClient client = newClient(3, 5);
+
+        assertThatThrownBy(() -> client.generate(this.chatRequest))
+                .isInstanceOf(HttpServerErrorException.InternalServerError.class);
+        assertThat(this.requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testDoesNotRetryClientErrors() {
+        this.replies.add(Reply.status(401));
+        OpenAiChatClient client = newClient(3, 5);
+
+        assertThatThrownBy(() -> client.generate(this.chatRequest))
+                .isInstanceOf(HttpClientErrorException.Unauthorized.class);
+        assertThat(this.requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testHonorsRetryAfter() {
+        this.replies.add(new Reply(429, 0, Map.of("Retry-After", "1")));
+        OpenAiChatClient client = newClient(3, 5);
+
+        long start = System.nanoTime();
+        client.generate(this.chatRequest);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(this.requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testRetriesAfterReadTimeout() {
+        this.replies.add(new Reply(200, 1000, Map.of()));
+        OpenAiChatClient client = newClient(3, 5);
+
+        ChatResponse chatResponse = client.generate(this.chatRequest);
+
+        assertThat(chatResponse.choices().get(0).message().content()).isEqualTo("The summary includes...");
+        assertThat(this.requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testCircuitBreakerFailsFastAndRecovers() throws InterruptedException {
+        this.replies.add(Reply.status(503));
+        this.replies.add(Reply.status(503));
+        OpenAiChatClient client = newClient(1, 2);
+
+        assertThatThrownBy(() -> client.generate(this.chatRequest)).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> client.generate(this.chatRequest)).isInstanceOf(HttpServerErrorException.class);
+        assertThatThrownBy(() -> client.generate(this.chatRequest)).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(this.requests.get()).isEqualTo(2);
+
+        // After open-for a trial call goes through and closes the breaker again.
+        Thread.sleep(300);
+        client.generate(this.chatRequest);
+        client.generate(this.chatRequest);
+        assertThat(this.requests.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testGenerateAsyncRetriesServerErrorsAndTimeouts() throws Exception {
+        this.replies.add(Reply.status(503));
+        this.replies.add(new Reply(200, 1000, Map.of()));
+        OpenAiChatClient client = newClient(3, 5);
+
+        ChatResponse chatResponse = client.generateAsync(this.chatRequest).get(5, TimeUnit.SECONDS);
+
+        assertThat(chatResponse.choices().get(0).message().content()).isEqualTo("The summary includes...");
+        assertThat(this.requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testGenerateAsyncFailsWithLastError() {
+        this.replies.add(Reply.status(503));
+        this.replies.add(Reply.status(500));
+        OpenAiChatClient client = newClient(2, 5);
+
+        assertThatThrownBy(() -> client.generateAsync(this.chatRequest).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpServerErrorException.InternalServerError.class);
+        assertThat(this.requests.get()).isEqualTo(2);
+    }
+
+    private OpenAiChatClient newClient(int maxAttempts, int failureThreshold) {
+        Duration readTimeout = Duration.ofMillis(300);
+        RestClientBuilderConfiguration configuration = new RestClientBuilderConfiguration();
+        HttpClient httpClient = configuration.httpClient(new MockEnvironment(), Duration.ofSeconds(1));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("httpClient", httpClient);
+
+        ChatClientResilience resilience = new ChatClientResilience(maxAttempts, Duration.ofMillis(10),
+                Duration.ofSeconds(2), failureThreshold, Duration.ofMillis(200));
+        String endpoint = "http://localhost:" + this.server.getAddress().getPort() + "/v1/chat/completions";
+        return new OpenAiChatClient(endpoint, "test-key", readTimeout,
+                configuration.restClientBuilder(httpClient, readTimeout), this.objectMapper,
+                beanFactory.getBeanProvider(HttpClient.class), resilience);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        this.requests.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        Reply reply = this.replies.poll();
+        if (reply == null) {
+            reply = Reply.status(200);
+        }
+        try {
+            Thread.sleep(reply.delayMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = reply.status() == 200
+                ? this.objectMapper.writeValueAsBytes(new ChatResponse(List.of(new Choice(0, new Message("assistant", "The summary includes...")))))
+                : "{\"error\":{\"message\":\"Stubbed failure\"}}".getBytes();
+        reply.headers().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(reply.status(), body.length);
+            out.write(body);
+        } catch (IOException clientGone) {
+            // The client timed out and closed the connection.
+        }
+    }
+
+    record Reply(int status, long delayMillis, Map<String, String> headers) {
+
+        static Reply status(int status) {
+            return new Reply(status, 0, Map.of());
+        }
+    }
+}
@@ -24,7 +24,9 @@ import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
-@RestClientTest(OpenAiChatClient.class)
+// One attempt per call, so each expectation below sees exactly one request.
+@RestClientTest(components = {OpenAiChatClient.class, ChatClientResilience.class},
+        properties = {"ai.openai.retry.max-attempts=1", "ai.openai.circuit-breaker.failure-threshold=100"})
 class OpenAiChatClientTest {
 
     @Autowired
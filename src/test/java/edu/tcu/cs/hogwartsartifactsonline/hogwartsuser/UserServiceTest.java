@@ -6,6 +6,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
@@ -23,6 +25,9 @@ class UserServiceTest extends ServiceTestConfig {
     @Mock
     PasswordEncoder passwordEncoder;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -121,6 +126,7 @@ class UserServiceTest extends ServiceTestConfig {
         assertThat(updatedUser).usingRecursiveAssertion().isEqualTo(oldUser);
         verify(this.userRepository, times(1)).findById(oldUser.getId());
         verify(this.userRepository, times(1)).save(oldUser);
+        verify(this.eventPublisher, times(1)).publishEvent(new UserModifiedEvent(oldUser.getUsername()));
     }
 
     @Test
@@ -156,6 +162,7 @@ class UserServiceTest extends ServiceTestConfig {
         // Then
         verify(this.userRepository, times(1)).findById(user.getId());
         verify(this.userRepository, times(1)).deleteById(user.getId());
+        verify(this.eventPublisher, times(1)).publishEvent(new UserModifiedEvent(user.getUsername()));
     }
 
     @Test
@@ -174,5 +181,60 @@ class UserServiceTest extends ServiceTestConfig {
         // Then
         verify(this.userRepository, times(1)).findById(userId);
         verify(this.userRepository, times(0)).deleteById(userId);
+        verify(this.eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testLoadUserByUsernameIsCached() {
+        // Given
+        var user = users.get(2);
+
+        when(this.userRepository.findByUsername(user.getUsername()))
+                .thenReturn(Optional.of(user));
+
+        // When
+        var first = this.userService.loadUserByUsername(user.getUsername());
+        var second = this.userService.loadUserByUsername(user.getUsername());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_user", "ROLE_admin");
+        verify(this.userRepository, times(1)).findByUsername(user.getUsername());
+    }
+
+    @Test
+    void testLoadUserByUsernameAfterUpdateReloads() {
+        // Given
+        var user = users.get(0);
+        var update = UserUtils.createUser(1, "test1", "password1", true, "admin");
+
+        when(this.userRepository.findByUsername(user.getUsername()))
+                .thenReturn(Optional.of(user));
+        when(this.userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(this.userRepository.save(user))
+                .thenReturn(user);
+
+        this.userService.loadUserByUsername(user.getUsername());
+
+        // When
+        this.userService.update(user.getId(), update);
+        var reloaded = this.userService.loadUserByUsername(user.getUsername());
+
+        // Then
+        assertThat(reloaded.getAuthorities()).extracting("authority").containsExactly("ROLE_admin");
+        verify(this.userRepository, times(2)).findByUsername(user.getUsername());
+    }
+
+    @Test
+    void testLoadUserByUsernameErrorNonExistentUsername() {
+        // Given
+        when(this.userRepository.findByUsername("unknown"))
+                .thenReturn(Optional.empty());
+
+        // When - Then
+        assertThatThrownBy(() -> this.userService.loadUserByUsername("unknown"))
+                .isInstanceOf(UsernameNotFoundException.class)
+                .hasMessage("Username unknown is not found.");
     }
 }
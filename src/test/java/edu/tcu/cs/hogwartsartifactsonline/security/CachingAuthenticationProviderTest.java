@@ -0,0 +1,97 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import edu.tcu.cs.hogwartsartifactsonline.hogwartsuser.UserModifiedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingAuthenticationProviderTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    AtomicInteger verifications;
+
+    CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.verifications = new AtomicInteger();
+        AuthenticationProvider delegate = new AuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                CachingAuthenticationProviderTest.this.verifications.incrementAndGet();
+                if (!"password1".equals(authentication.getCredentials())) {
+                    throw new BadCredentialsException("Bad credentials");
+                }
+                return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null,
+                        AuthorityUtils.createAuthorityList("ROLE_user"));
+            }
+
+            @Override
+            public boolean supports(Class<?> authentication) {
+                return true;
+            }
+        };
+        this.provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(1), 100, this.meterRegistry);
+    }
+
+    @Test
+    void testRepeatedLoginIsServedFromCache() {
+        Authentication first = this.provider.authenticate(login("user1", "password1"));
+        Authentication second = this.provider.authenticate(login("user1", "password1"));
+
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("user1");
+        assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+        assertThat(this.verifications.get()).isEqualTo(1);
+        assertThat(this.meterRegistry.get("security.authentication.cache.hits").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testWrongPasswordIsNeitherAcceptedNorCached() {
+        this.provider.authenticate(login("user1", "password1"));
+
+        assertThatThrownBy(() -> this.provider.authenticate(login("user1", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> this.provider.authenticate(login("user1", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(this.verifications.get()).isEqualTo(3);
+        assertThat(this.provider.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testUserModifiedEventInvalidatesEntries() {
+        this.provider.authenticate(login("user1", "password1"));
+
+        this.provider.onUserModified(new UserModifiedEvent("user1"));
+        this.provider.authenticate(login("user1", "password1"));
+
+        assertThat(this.verifications.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testEventForAnotherUserKeepsEntries() {
+        this.provider.authenticate(login("user1", "password1"));
+
+        this.provider.onUserModified(new UserModifiedEvent("user2"));
+        this.provider.authenticate(login("user1", "password1"));
+
+        assertThat(this.verifications.get()).isEqualTo(1);
+    }
+
+    private static Authentication login(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,86 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    final Instant now = Instant.parse("2024-04-01T10:00:00Z");
+
+    final Clock clock = Clock.fixed(this.now, ZoneOffset.UTC);
+
+    final AtomicInteger decodings = new AtomicInteger();
+
+    @Test
+    void testSameTokenIsDecodedOnce() {
+        CachingJwtDecoder decoder = newDecoder(stub(this.now.plus(Duration.ofHours(2))));
+
+        Jwt first = decoder.decode("token-1");
+        Jwt second = decoder.decode("token-1");
+
+        assertThat(second).isSameAs(first);
+        assertThat(this.decodings.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testDifferentTokensAreCachedSeparately() {
+        CachingJwtDecoder decoder = newDecoder(stub(this.now.plus(Duration.ofHours(2))));
+
+        decoder.decode("token-1");
+        Jwt other = decoder.decode("token-2");
+
+        assertThat(other.getTokenValue()).isEqualTo("token-2");
+        assertThat(this.decodings.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testExpiredTokenIsNotKept() {
+        CachingJwtDecoder decoder = newDecoder(stub(this.now.minusSeconds(1)));
+
+        decoder.decode("token-1");
+        decoder.decode("token-1");
+
+        assertThat(this.decodings.get()).isEqualTo(2);
+        assertThat(decoder.estimatedSize()).isZero();
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        CachingJwtDecoder decoder = newDecoder(token -> {
+            this.decodings.incrementAndGet();
+            throw new BadJwtException("Invalid signature");
+        });
+
+        assertThatThrownBy(() -> decoder.decode("token-1")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token-1")).isInstanceOf(BadJwtException.class);
+        assertThat(this.decodings.get()).isEqualTo(2);
+    }
+
+    private CachingJwtDecoder newDecoder(JwtDecoder delegate) {
+        return new CachingJwtDecoder(delegate, Duration.ofHours(2), 100, this.clock);
+    }
+
+    private JwtDecoder stub(Instant expiresAt) {
+        return token -> {
+            this.decodings.incrementAndGet();
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("admin")
+                    .claim("authorities", "ROLE_admin")
+                    .issuedAt(this.now.minusSeconds(60))
+                    .expiresAt(expiresAt)
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwsJwtEncoderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RS256", "ES256", "EdDSA"})
+    void testTokenRoundTrip(String algorithm) throws Exception {
+        JWK signingKey = JwsKeys.generate(JWSAlgorithm.parse(algorithm));
+        JWK otherKey = JwsKeys.generate(JWSAlgorithm.RS256);
+        JwtDecoder jwtDecoder = JwsKeys.decoderFor(new JWKSet(List.of(otherKey, signingKey)).toPublicJWKSet());
+
+        String token = encode(signingKey);
+        Jwt jwt = jwtDecoder.decode(token);
+
+        assertThat(jwt.getHeaders()).containsEntry("alg", algorithm).containsEntry("kid", signingKey.getKeyID());
+        assertThat(jwt.getSubject()).isEqualTo("admin");
+        assertThat(jwt.getClaimAsString("authorities")).isEqualTo("ROLE_admin");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"RS256", "ES256", "EdDSA"})
+    void testTamperedTokenIsRejected(String algorithm) throws Exception {
+        JWK signingKey = JwsKeys.generate(JWSAlgorithm.parse(algorithm));
+        JwtDecoder jwtDecoder = JwsKeys.decoderFor(new JWKSet(signingKey).toPublicJWKSet());
+
+        String token = encode(signingKey);
+        String[] parts = token.split("\\.");
+        String forged = encode(JwsKeys.generate(JWSAlgorithm.parse(algorithm))).split("\\.")[2];
+
+        assertThatThrownBy(() -> jwtDecoder.decode(parts[0] + "." + parts[1] + "." + forged))
+                .isInstanceOf(BadJwtException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ES256", "EdDSA"})
+    void testTokenFromUnknownKeyIsRejected(String algorithm) throws Exception {
+        JwtDecoder jwtDecoder = JwsKeys.decoderFor(new JWKSet(JwsKeys.generate(JWSAlgorithm.parse(algorithm))).toPublicJWKSet());
+
+        String token = encode(JwsKeys.generate(JWSAlgorithm.parse(algorithm)));
+
+        assertThatThrownBy(() -> jwtDecoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    private static String encode(JWK signingKey) throws Exception {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("self")
+                .issuedAt(now)
+                .expiresAt(now.plus(2, ChronoUnit.HOURS))
+                .subject("admin")
+                .claim("authorities", "ROLE_admin")
+                .build();
+        return new JwsJwtEncoder(signingKey).encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,101 @@
+package edu.tcu.cs.hogwartsartifactsonline.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtSigningKeysTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testMissingFileIsGeneratedOnceAndReused() throws Exception {
+        Path location = this.directory.resolve("keys/jwks.json");
+
+        JwtSigningKeys first = new JwtSigningKeys(location, "", true, "RS256");
+        JwtSigningKeys second = new JwtSigningKeys(location, "", true, "RS256");
+
+        assertThat(Files.exists(location)).isTrue();
+        assertThat(first.activeKey().getKeyID()).isNotBlank();
+        assertThat(second.activeKey()).isEqualTo(first.activeKey());
+    }
+
+    @Test
+    void testMissingFileFailsWhenGenerationIsDisabled() {
+        Path location = this.directory.resolve("jwks.json");
+
+        assertThatThrownBy(() -> new JwtSigningKeys(location, "", false, "RS256"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("No JWK set found");
+    }
+
+    @Test
+    void testActiveKeyIsSelectedByKid() throws Exception {
+        JWK oldKey = JwsKeys.generate(JWSAlgorithm.RS256);
+        JWK newKey = JwsKeys.generate(JWSAlgorithm.RS256);
+        Path location = write(new JWKSet(List.of(oldKey, newKey)));
+
+        JwtSigningKeys keys = new JwtSigningKeys(location, newKey.getKeyID(), false, "RS256");
+
+        assertThat(keys.activeKey().getKeyID()).isEqualTo(newKey.getKeyID());
+        assertThat(keys.verificationKeys().getKeys()).hasSize(2).noneMatch(JWK::isPrivate);
+    }
+
+    @Test
+    void testActiveKeyMustHaveItsPrivatePart() throws Exception {
+        JWK retiredKey = JwsKeys.generate(JWSAlgorithm.RS256).toPublicJWK();
+        Path location = write(new JWKSet(retiredKey));
+
+        assertThatThrownBy(() -> new JwtSigningKeys(location, retiredKey.getKeyID(), false, "RS256"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(retiredKey.getKeyID());
+    }
+
+    @Test
+    void testGeneratedFileIsPrivateToItsOwner() throws Exception {
+        Path location = this.directory.resolve("keys/jwks.json");
+
+        new JwtSigningKeys(location, "", true, "RS256");
+
+        assertThat(Files.getPosixFilePermissions(location)).isEqualTo(PosixFilePermissions.fromString("rw-------"));
+        assertThat(Files.getPosixFilePermissions(location.getParent())).isEqualTo(PosixFilePermissions.fromString("rwx------"));
+    }
+
+    @Test
+    void testFileReadableByOthersIsRefused() throws Exception {
+        Path location = write(new JWKSet(JwsKeys.generate(JWSAlgorithm.RS256)));
+        Files.setPosixFilePermissions(location, PosixFilePermissions.fromString("rw-r--r--"));
+
+        assertThatThrownBy(() -> new JwtSigningKeys(location, "", false, "RS256"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("must not be readable or writable by its group or others");
+    }
+
+    @Test
+    void testFileWritableByGroupIsRefused() throws Exception {
+        Path location = write(new JWKSet(JwsKeys.generate(JWSAlgorithm.RS256)));
+        Files.setPosixFilePermissions(location, PosixFilePermissions.fromString("rw--w----"));
+
+        assertThatThrownBy(() -> new JwtSigningKeys(location, "", false, "RS256"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GROUP_WRITE");
+    }
+
+    private Path write(JWKSet jwkSet) throws Exception {
+        Path location = this.directory.resolve("jwks.json");
+        Files.writeString(location, jwkSet.toString(false));
+        Files.setPosixFilePermissions(location, PosixFilePermissions.fromString("rw-------"));
+        return location;
+    }
+}
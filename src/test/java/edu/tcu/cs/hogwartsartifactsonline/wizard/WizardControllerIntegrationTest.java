@@ -6,21 +6,28 @@ import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.hamcrest.Matchers;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class WizardControllerIntegrationTest extends IntegrationTestConfig {
 
@@ -30,6 +37,9 @@ public class WizardControllerIntegrationTest extends IntegrationTestConfig {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     String token;
 
 
@@ -57,6 +67,45 @@ public class WizardControllerIntegrationTest extends IntegrationTestConfig {
                 .andExpect(jsonPath("$.data", Matchers.hasSize(3)));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindWizardByIdNotModifiedUntilArtifactAssigned() throws Exception {
+        String eTag = this.mockMvc.perform(get(BASE_URL + "/wizards/2").header("Authorization", this.token).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(get(BASE_URL + "/wizards/2").header("Authorization", this.token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        this.mockMvc.perform(put(BASE_URL + "/wizards/2/artifacts/123451").header("Authorization", this.token))
+                .andExpect(jsonPath("$.flag").value(true));
+
+        // Only the artifact changed owner, but the wizard's representation shows its artifact count.
+        this.mockMvc.perform(get(BASE_URL + "/wizards/2").header("Authorization", this.token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.numberOfArtifacts").value(3));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testUpdateWizardWithStaleIfMatchFails() throws Exception {
+        String eTag = this.mockMvc.perform(get(BASE_URL + "/wizards/3").header("Authorization", this.token).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(put(BASE_URL + "/wizards/3").header("Authorization", this.token).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Neville Longbottom\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+
+        this.mockMvc.perform(put(BASE_URL + "/wizards/3").header("Authorization", this.token).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Neville\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(StatusCode.PRECONDITION_FAILED));
+        this.mockMvc.perform(delete(BASE_URL + "/wizards/3").header("Authorization", this.token).header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void testFindAllWizardsErrorWhenInvalidTokenIdProvided() throws Exception {
         this.mockMvc.perform(get(BASE_URL + "/wizards").header("Authorization", this.token + "invalid")
@@ -67,6 +116,39 @@ public class WizardControllerIntegrationTest extends IntegrationTestConfig {
                 .andExpect(jsonPath("$.data").value("An error occurred while attempting to decode the Jwt: Signed JWT rejected: Invalid signature"));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindAllWizardsIssuesSingleStatement() throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.mockMvc.perform(get(BASE_URL + "/wizards").header("Authorization", this.token).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data", Matchers.hasSize(3)))
+                .andExpect(jsonPath("$.data[0].numberOfArtifacts").value(2))
+                .andExpect(jsonPath("$.data[1].numberOfArtifacts").value(2))
+                .andExpect(jsonPath("$.data[2].numberOfArtifacts").value(1));
+
+        // One grouped query, no matter how many artifacts each wizard owns.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void testFindWizardByIdReadsEntityCache() throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.mockMvc.perform(get(BASE_URL + "/wizards/1").header("Authorization", this.token).accept(MediaType.APPLICATION_JSON));
+        statistics.clear();
+
+        this.mockMvc.perform(get(BASE_URL + "/wizards/1").header("Authorization", this.token).accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.numberOfArtifacts").value(2));
+
+        // The wizard is a cache hit; only its artifact count is queried.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
     @Test
     void testFindWizardByIdSuccess() throws Exception {
         var wizardId = 1;
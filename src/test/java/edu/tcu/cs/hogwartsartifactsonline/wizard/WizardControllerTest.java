@@ -4,8 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import edu.tcu.cs.hogwartsartifactsonline.ControllerTestConfig;
 import edu.tcu.cs.hogwartsartifactsonline.artifact.Artifact;
+import edu.tcu.cs.hogwartsartifactsonline.system.ETags;
 import edu.tcu.cs.hogwartsartifactsonline.system.StatusCode;
 import edu.tcu.cs.hogwartsartifactsonline.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.VersionedWizardDto;
 import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +17,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -23,7 +27,9 @@ import java.util.List;
 import static edu.tcu.cs.hogwartsartifactsonline.wizard.WizardUtils.generateWizard;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class WizardControllerTest extends ControllerTestConfig{
 
@@ -55,8 +61,8 @@ class WizardControllerTest extends ControllerTestConfig{
         // Given
         var wizard = generateWizard(1, "Harry Potter");
 
-        when(this.wizardService.findById(wizard.getId()))
-                .thenReturn(wizard);
+        when(this.wizardService.findWithArtifactCountById(wizard.getId()))
+                .thenReturn(new VersionedWizardDto(wizard.getId(), wizard.getName(), 0, 0));
 
         // When - Then
         this.mockMvc.perform(get(BASE_URL + "/" + wizard.getId()).accept(MediaType.APPLICATION_JSON))
@@ -68,11 +74,24 @@ class WizardControllerTest extends ControllerTestConfig{
                 .andExpect(jsonPath("$.data.numberOfArtifacts").value(0));
     }
 
+    @Test
+    void testFindWizardByIdNotModified() throws Exception {
+        // Given
+        var wizard = new VersionedWizardDto(1, "Harry Potter", 0, 0);
+        when(this.wizardService.findWithArtifactCountById(1)).thenReturn(wizard);
+
+        // When - Then
+        this.mockMvc.perform(get(BASE_URL + "/1").header(HttpHeaders.IF_NONE_MATCH, ETags.of(wizard)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1v0n0\""));
+        verify(this.wizardService, never()).findById(1);
+    }
+
     @Test
     void testFindWizardByIdNotFound() throws Exception {
         // Given
         var wizardId = 1;
-        when(this.wizardService.findById(wizardId))
+        when(this.wizardService.findWithArtifactCountById(wizardId))
                 .thenThrow(new ObjectNotFoundException(Wizard.class.getSimpleName(), wizardId));
 
         // When - Then
@@ -87,8 +106,8 @@ class WizardControllerTest extends ControllerTestConfig{
     @Test
     void testFindAllWizards() throws Exception {
         // Given
-        when(this.wizardService.findAll())
-                .thenReturn(wizards);
+        when(this.wizardService.findAllWithArtifactCount())
+                .thenReturn(wizards.stream().map(wizard -> new WizardDto(wizard.getId(), wizard.getName(), 0)).toList());
 
         // When - Then
         this.mockMvc.perform(get(BASE_URL).accept(MediaType.APPLICATION_JSON))
@@ -158,7 +177,7 @@ class WizardControllerTest extends ControllerTestConfig{
 
         var updatedWizard = generateWizard(1, wizardDto.name());
 
-        when(this.wizardService.update(anyInt() , Mockito.any(Wizard.class)))
+        when(this.wizardService.update(anyInt() , Mockito.any(Wizard.class), Mockito.isNull()))
                 .thenReturn(updatedWizard);
 
         // When - Then
@@ -181,7 +200,7 @@ class WizardControllerTest extends ControllerTestConfig{
 
         var updatedWizard = generateWizard(1, wizardDto.name());
 
-        when(this.wizardService.update(anyInt() , Mockito.any(Wizard.class)))
+        when(this.wizardService.update(anyInt() , Mockito.any(Wizard.class), Mockito.isNull()))
                 .thenThrow(new ObjectNotFoundException(Wizard.class.getSimpleName() ,1));
 
         // When - Then
@@ -193,6 +212,31 @@ class WizardControllerTest extends ControllerTestConfig{
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    void testUpdateWizardWithIfMatchOfAnotherWizard() throws Exception {
+        // Given
+        var wizardDtoJson = objectMapper.writeValueAsString(new WizardDto(1, "Harry Potter Update", null));
+
+        // When - Then
+        this.mockMvc.perform(put(BASE_URL + "/1").header(HttpHeaders.IF_MATCH, "\"2v0n3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(wizardDtoJson).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value(StatusCode.PRECONDITION_FAILED));
+        verify(this.wizardService, never()).update(anyInt(), Mockito.any(Wizard.class), Mockito.any());
+    }
+
+    @Test
+    void testDeleteWizardWithStaleIfMatch() throws Exception {
+        // Given
+        doThrow(new PreconditionFailedException("Wizard", 1)).when(this.wizardService).delete(1, 0);
+
+        // When - Then
+        this.mockMvc.perform(delete(BASE_URL + "/1").header(HttpHeaders.IF_MATCH, "\"1v0n3\"").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.flag").value(false))
+                .andExpect(jsonPath("$.message").value("Wizard with Id 1 has been modified since it was read, fetch it again and retry"));
+    }
+
     @Test
     void testUpdateWizardFaildWithEmptyProvidedName() throws Exception {
         // Given
@@ -202,7 +246,7 @@ class WizardControllerTest extends ControllerTestConfig{
 
         var updatedWizard = generateWizard(1, wizardDto.name());
 
-        when(this.wizardService.update(anyInt() , Mockito.any(Wizard.class)))
+        when(this.wizardService.update(anyInt() , Mockito.any(Wizard.class), Mockito.isNull()))
                 .thenReturn(updatedWizard);
 
         // When - Then
@@ -220,7 +264,7 @@ class WizardControllerTest extends ControllerTestConfig{
         var wizardId = 1;
 
         doNothing().when(this.wizardService)
-                .delete(wizardId);
+                .delete(wizardId, null);
 
         // When - Then
         this.mockMvc.perform(delete(BASE_URL + "/" + wizardId)
@@ -236,7 +280,7 @@ class WizardControllerTest extends ControllerTestConfig{
         var wizardId = 1;
 
         doThrow(new ObjectNotFoundException(Wizard.class.getSimpleName() ,wizardId))
-                .when(this.wizardService).delete(wizardId);
+                .when(this.wizardService).delete(wizardId, null);
 
         // When - Then
         this.mockMvc.perform(delete(BASE_URL + "/" + wizardId)
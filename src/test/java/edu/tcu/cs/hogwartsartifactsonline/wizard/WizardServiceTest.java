@@ -1,12 +1,17 @@
 package edu.tcu.cs.hogwartsartifactsonline.wizard;
 
 import edu.tcu.cs.hogwartsartifactsonline.ServiceTestConfig;
+import edu.tcu.cs.hogwartsartifactsonline.artifact.ArtifactRepository;
 import edu.tcu.cs.hogwartsartifactsonline.system.exception.ObjectNotFoundException;
+import edu.tcu.cs.hogwartsartifactsonline.system.exception.PreconditionFailedException;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.VersionedWizardDto;
+import edu.tcu.cs.hogwartsartifactsonline.wizard.dto.WizardDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +28,9 @@ public class WizardServiceTest extends ServiceTestConfig{
     @Mock
     WizardRepository wizardRepository;
 
+    @Mock
+    ArtifactRepository artifactRepository;
+
     @InjectMocks
     WizardService wizardService;
 
@@ -63,6 +71,49 @@ public class WizardServiceTest extends ServiceTestConfig{
         verify(this.wizardRepository, times(1)).findAll();
     }
 
+    @Test
+    void testFindAllWithArtifactCountSuccess() {
+        List<WizardDto> wizardDtos = List.of(
+                new WizardDto(1, "Albus Dumbledore", 2),
+                new WizardDto(2, "Harry Potter", 2),
+                new WizardDto(3, "Neville Longbottom", 1));
+        given(this.wizardRepository.findAllWithArtifactCount()).willReturn(wizardDtos);
+
+        List<WizardDto> actualWizardDtos = this.wizardService.findAllWithArtifactCount();
+
+        assertThat(actualWizardDtos).isEqualTo(wizardDtos);
+        verify(this.wizardRepository, times(1)).findAllWithArtifactCount();
+        verify(this.wizardRepository, never()).findAll();
+    }
+
+    @Test
+    void testFindWithArtifactCountByIdSuccess() {
+        Wizard wizard = this.wizards.get(0);
+        wizard.setVersion(0);
+        given(this.wizardRepository.findById(1)).willReturn(Optional.of(wizard));
+        given(this.artifactRepository.countByOwnerId(1)).willReturn(2L);
+
+        VersionedWizardDto wizardDto = this.wizardService.findWithArtifactCountById(1);
+
+        assertThat(wizardDto.wizard().name()).isEqualTo("Albus Dumbledore");
+        assertThat(wizardDto.wizard().numberOfArtifacts()).isEqualTo(2);
+        assertThat(wizardDto.version()).isEqualTo(0);
+        verify(this.wizardRepository, times(1)).findById(1);
+        verify(this.artifactRepository, times(1)).countByOwnerId(1);
+    }
+
+    @Test
+    void testFindWithArtifactCountByIdNotFound() {
+        given(this.wizardRepository.findById(1)).willReturn(Optional.empty());
+
+        Throwable thrown = catchThrowable(() -> this.wizardService.findWithArtifactCountById(1));
+
+        assertThat(thrown)
+                .isInstanceOf(ObjectNotFoundException.class)
+                .hasMessage("Could not find wizard with Id 1");
+        verify(this.artifactRepository, never()).countByOwnerId(Mockito.anyInt());
+    }
+
     @Test
     void testFindByIdSuccess() {
         //given. arrange inputs and outputs. define behavior of mock object
@@ -135,6 +186,7 @@ public class WizardServiceTest extends ServiceTestConfig{
         assertThat(updateWizard.getName()).isEqualTo(update.getName());
         verify(this.wizardRepository, times(1)).findById(1);
         verify(this.wizardRepository, times(1)).save(oldWizard);
+        verify(this.wizardRepository, never()).flush();
     }
 
     @Test
@@ -154,6 +206,50 @@ public class WizardServiceTest extends ServiceTestConfig{
         verify(this.wizardRepository, times(1)).findById(1);
     }
 
+    @Test
+    void testUpdateStaleVersion() {
+        // Given
+        Wizard oldWizard = new Wizard();
+        oldWizard.setId(1);
+        oldWizard.setName("Albus Dumbledore");
+        oldWizard.setVersion(2);
+
+        Wizard update = new Wizard();
+        update.setName("Albus Dumbledore - update");
+
+        given(this.wizardRepository.findById(1)).willReturn(Optional.of(oldWizard));
+
+        // When
+        assertThrows(PreconditionFailedException.class, () -> {
+            this.wizardService.update(1, update, 3);
+        });
+
+        // Then
+        assertThat(oldWizard.getName()).isEqualTo("Albus Dumbledore");
+        verify(this.wizardRepository, never()).save(any(Wizard.class));
+    }
+
+    @Test
+    void testUpdateLosingRaceAfterVersionCheck() {
+        // Given: the version matched when loaded, but another write committed before the UPDATE.
+        Wizard oldWizard = new Wizard();
+        oldWizard.setId(1);
+        oldWizard.setName("Albus Dumbledore");
+        oldWizard.setVersion(3);
+
+        Wizard update = new Wizard();
+        update.setName("Albus Dumbledore - update");
+
+        given(this.wizardRepository.findById(1)).willReturn(Optional.of(oldWizard));
+        given(this.wizardRepository.save(oldWizard)).willReturn(oldWizard);
+        doThrow(new ObjectOptimisticLockingFailureException(Wizard.class, 1)).when(this.wizardRepository).flush();
+
+        // When - Then
+        assertThrows(PreconditionFailedException.class, () -> {
+            this.wizardService.update(1, update, 3);
+        });
+    }
+
     @Test
     void testDeleteSuccess(){
         // Given
@@ -171,6 +267,24 @@ public class WizardServiceTest extends ServiceTestConfig{
         verify(this.wizardRepository, times(1)).deleteById(1);
     }
 
+    @Test
+    void testDeleteWithCurrentVersion(){
+        // Given
+        Wizard wizard = new Wizard();
+        wizard.setId(1);
+        wizard.setName("Albus Dumbledore");
+        wizard.setVersion(2);
+
+        given(this.wizardRepository.findById(1)).willReturn(Optional.of(wizard));
+
+        // When
+        this.wizardService.delete(1, 2);
+
+        // Then
+        verify(this.wizardRepository, times(1)).deleteById(1);
+        verify(this.wizardRepository, times(1)).flush();
+    }
+
     @Test
     void testDeleteNotFound(){
         // Given